@@ -0,0 +1,90 @@
+package queue_san_antonio.queues.benchmark;
+
+import queue_san_antonio.queues.models.Ciudadano;
+import queue_san_antonio.queues.models.Empleado;
+import queue_san_antonio.queues.models.EstadoTurno;
+import queue_san_antonio.queues.models.RolEmpleado;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.TipoTurno;
+import queue_san_antonio.queues.models.Turno;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
+//Datos en memoria para los benchmarks (sin Spring ni BD)
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    //Implementación mínima de un repositorio: solo responde los métodos indicados
+    //Cualquier otro método falla para que el benchmark no mida algo distinto de lo que dice
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> tipo, Map<String, Function<Object[], Object>> respuestas) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, method, args) -> {
+            Function<Object[], Object> respuesta = respuestas.get(method.getName());
+            if (respuesta != null) {
+                return respuesta.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> tipo.getSimpleName() + "Stub";
+                };
+            }
+            throw new UnsupportedOperationException("Método no preparado en el stub: " + method.getName());
+        });
+    }
+
+    public static Sector sector(long id, String codigo) {
+        return Sector.builder()
+                .id(id)
+                .codigo(codigo)
+                .nombre("Sector " + codigo)
+                .build();
+    }
+
+    public static Empleado empleado(long id, Sector sector) {
+        return Empleado.builder()
+                .id(id)
+                .username("operador" + id)
+                .nombre("Nombre" + id)
+                .apellido("Apellido" + id)
+                .rol(RolEmpleado.OPERADOR)
+                .activo(true)
+                .sector(sector)
+                .build();
+    }
+
+    public static Ciudadano ciudadano(long id) {
+        return Ciudadano.builder()
+                .id(id)
+                .dni(String.valueOf(20_000_000 + id))
+                .nombre("Nombre" + id)
+                .apellido("Apellido" + id)
+                .telefono("3492000000")
+                .esPrioritario(false)
+                .build();
+    }
+
+    //Turno completo (ciudadano, sector y empleado) tal como lo devuelve una consulta con fetch
+    public static Turno turno(long id, Sector sector, Empleado empleado, LocalDateTime generacion) {
+        return Turno.builder()
+                .id(id)
+                .codigo(String.format("%s%03d", sector.getCodigo(), id % 1000))
+                .ciudadano(ciudadano(id))
+                .sector(sector)
+                .estado(EstadoTurno.EN_ATENCION)
+                .tipo(TipoTurno.NORMAL)
+                .prioridad(0)
+                .fechaHoraGeneracion(generacion)
+                .fechaHoraLlamado(generacion.plusMinutes(12))
+                .fechaHoraAtencion(generacion.plusMinutes(13))
+                .empleadoAtencion(empleado)
+                .observaciones("Observación de prueba")
+                .build();
+    }
+}
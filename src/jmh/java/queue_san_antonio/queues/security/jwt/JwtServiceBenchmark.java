@@ -0,0 +1,62 @@
+package queue_san_antonio.queues.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import queue_san_antonio.queues.benchmark.Fixtures;
+import queue_san_antonio.queues.models.Sector;
+
+import java.lang.reflect.Field;
+
+//Parseo de tokens JWT tal como lo hace JwtRequestFilter en cada request
+// - cache: el token ya fue verificado (caso normal de una consola activa)
+// - sinCache: tokens distintos que superan la LRU, se verifica firma y JSON cada vez
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    //Mayor que MAX_TOKENS_VERIFICADOS para que el recorrido circular nunca encuentre el token en la LRU
+    private static final int TOKENS_SIN_CACHE = 2048;
+
+    private JwtService jwtService;
+    private String token;
+    private String[] tokens;
+    private int indice;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        jwtService = new JwtService();
+        asignar("secretKey", "bXVuaWNpcGFsaWRhZF9zYW5fYW50b25pb19zZWNyZXRfa2V5XzIwMjRfcXVldWVfc3lzdGVt");
+        asignar("jwtExpiration", 86_400_000L);
+        asignar("refreshExpiration", 604_800_000L);
+        jwtService.init();
+
+        Sector sector = Fixtures.sector(1L, "A");
+        token = jwtService.generateToken(Fixtures.empleado(1L, sector));
+
+        tokens = new String[TOKENS_SIN_CACHE];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtService.generateToken(Fixtures.empleado(i + 2L, sector));
+        }
+    }
+
+    @Benchmark
+    public Claims parseClaimsCache() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsSinCache() {
+        String siguiente = tokens[indice];
+        indice = (indice + 1) % tokens.length;
+        return jwtService.parseClaims(siguiente);
+    }
+
+    private void asignar(String campo, Object valor) throws ReflectiveOperationException {
+        Field field = JwtService.class.getDeclaredField(campo);
+        field.setAccessible(true);
+        field.set(jwtService, valor);
+    }
+}
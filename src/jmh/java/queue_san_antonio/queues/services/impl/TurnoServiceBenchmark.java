@@ -0,0 +1,89 @@
+package queue_san_antonio.queues.services.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import queue_san_antonio.queues.benchmark.Fixtures;
+import queue_san_antonio.queues.models.HorarioAtencion;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.repositories.HorarioAtencionRepository;
+import queue_san_antonio.queues.repositories.TurnoRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//Generación de códigos de turno y de horarios disponibles con repositorios en memoria
+//Mide solo la lógica Java: las consultas devuelven listas ya armadas
+@State(Scope.Benchmark)
+public class TurnoServiceBenchmark {
+
+    private static final LocalDate FECHA = LocalDate.of(2025, 3, 10); // lunes
+
+    //Turnos ya emitidos en el día para el sector (la consulta trae todos, ordenados desc)
+    @Param({"0", "50", "500"})
+    int turnosDelDia;
+
+    //Franjas horarias activas del sector en el día
+    @Param({"1", "3"})
+    int bloquesHorario;
+
+    private TurnoServiceImpl turnoService;
+    private DisponibilidadService disponibilidadService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Sector sector = Fixtures.sector(1L, "A");
+
+        List<Turno> ultimos = new ArrayList<>();
+        for (int i = turnosDelDia; i >= 1; i--) {
+            ultimos.add(Fixtures.turno(i, sector, null, FECHA.atTime(8, 0).plusMinutes(i)));
+        }
+
+        List<HorarioAtencion> bloques = new ArrayList<>();
+        for (int i = 0; i < bloquesHorario; i++) {
+            bloques.add(HorarioAtencion.builder()
+                    .id((long) i)
+                    .sector(sector)
+                    .diaSemana(DayOfWeek.MONDAY)
+                    .horaInicio(LocalTime.of(7 + i * 3, 0))
+                    .horaFin(LocalTime.of(10 + i * 3, 0))
+                    .intervaloCitas(15)
+                    .capacidadMaxima(2)
+                    .activo(true)
+                    .build());
+        }
+
+        // Ocupación: la mitad de los slots con un turno
+        List<Object[]> ocupacion = new ArrayList<>();
+        for (LocalTime t = LocalTime.of(7, 0); t.isBefore(LocalTime.of(16, 0)); t = t.plusMinutes(30)) {
+            ocupacion.add(new Object[]{t, 1L});
+        }
+
+        TurnoRepository turnoRepository = Fixtures.stub(TurnoRepository.class, Map.of(
+                "findUltimoTurnoDelDia", args -> ultimos,
+                "countByHoraForSectorAndFecha", args -> ocupacion));
+        HorarioAtencionRepository horarioRepository = Fixtures.stub(HorarioAtencionRepository.class, Map.of(
+                "findActivosBySectorAndDia", args -> bloques));
+
+        this.turnoService = new TurnoServiceImpl(turnoRepository, null, null, null, null, null, null, null, null, null, null, null, null);
+        this.disponibilidadService = new DisponibilidadService(horarioRepository, turnoRepository);
+    }
+
+    @Benchmark
+    public String generarCodigoTurno() {
+        return turnoService.generarCodigoTurno("a", FECHA);
+    }
+
+    @Benchmark
+    public List<String> getHorasDisponibles() {
+        return disponibilidadService.getHorasDisponibles(1L, FECHA);
+    }
+}
@@ -0,0 +1,67 @@
+package queue_san_antonio.queues.web.controllers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import queue_san_antonio.queues.web.dto.estadistica.EstadisticaTurnoResponse;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//Re-agrupación de estadísticas diarias (reportes por fecha o por sector)
+@State(Scope.Benchmark)
+public class EstadisticaAgrupacionBenchmark {
+
+    //Días del rango consultado
+    @Param({"30", "365"})
+    int dias;
+
+    @Param({"FECHA", "SECTOR"})
+    EstadisticaTurnoController.GroupBy groupBy;
+
+    private static final int SECTORES = 12;
+
+    private List<EstadisticaTurnoResponse> base;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+
+        base = new ArrayList<>(dias * SECTORES);
+        for (int d = 0; d < dias; d++) {
+            for (int s = 0; s < SECTORES; s++) {
+                EstadisticaTurnoResponse.SectorInfo sector = new EstadisticaTurnoResponse.SectorInfo();
+                sector.setId((long) s);
+                sector.setCodigo("S" + s);
+                sector.setNombre("Sector " + s);
+
+                int generados = 20 + random.nextInt(80);
+                EstadisticaTurnoResponse r = new EstadisticaTurnoResponse();
+                r.setFecha(inicio.plusDays(d));
+                r.setSector(sector);
+                r.setTurnosGenerados(generados);
+                r.setTurnosAtendidos(generados - random.nextInt(10));
+                r.setTurnosAusentes(random.nextInt(5));
+                r.setTurnosCancelados(random.nextInt(3));
+                r.setTurnosRedirigidos(random.nextInt(3));
+                r.setTiempoPromedioEspera(5 + random.nextInt(30));
+                r.setTiempoPromedioAtencion(3 + random.nextInt(15));
+                r.setHoraPico(LocalTime.of(8 + random.nextInt(5), 0));
+                r.setCantidadPico(random.nextInt(20));
+                base.add(r);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<EstadisticaTurnoResponse> agrupar() {
+        return EstadisticaTurnoController.agrupar(base, groupBy);
+    }
+}
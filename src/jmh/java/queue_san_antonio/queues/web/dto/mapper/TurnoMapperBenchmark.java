@@ -0,0 +1,31 @@
+package queue_san_antonio.queues.web.dto.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import queue_san_antonio.queues.benchmark.Fixtures;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.web.dto.turno.TurnoResponse;
+
+import java.time.LocalDateTime;
+
+//Conversión Turno -> TurnoResponse (se ejecuta por cada turno listado o notificado)
+@State(Scope.Benchmark)
+public class TurnoMapperBenchmark {
+
+    private Turno turno;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Sector sector = Fixtures.sector(1L, "A");
+        turno = Fixtures.turno(15L, sector, Fixtures.empleado(3L, sector), LocalDateTime.of(2025, 3, 10, 9, 30));
+    }
+
+    @Benchmark
+    public TurnoResponse toResponse() {
+        return TurnoMapper.toResponse(turno);
+    }
+}
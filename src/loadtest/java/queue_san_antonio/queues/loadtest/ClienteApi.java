@@ -0,0 +1,110 @@
+package queue_san_antonio.queues.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+//Cliente HTTP de la prueba de carga: cada llamada se mide y se registra con el nombre del endpoint
+class ClienteApi {
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final RegistroLatencias registro;
+    private final String baseUrl;
+
+    ClienteApi(String baseUrl, ObjectMapper objectMapper, RegistroLatencias registro) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.registro = registro;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    //Login y devuelve el access token
+    String login(String username, String password) {
+        JsonNode data = post("POST /api/auth/login", "/api/auth/login", null,
+                Map.of("username", username, "password", password));
+        if (data == null || !data.hasNonNull("accessToken")) {
+            throw new IllegalStateException("No se pudo iniciar sesión con " + username);
+        }
+        return data.get("accessToken").asText();
+    }
+
+    //GET que devuelve el campo "data" del ApiResponseWrapper (null si falla o viene vacío)
+    JsonNode get(String endpoint, String ruta, String token) {
+        return enviar(endpoint, request(ruta, token).GET().build());
+    }
+
+    //POST JSON que devuelve el campo "data" del ApiResponseWrapper (null si falla)
+    JsonNode post(String endpoint, String ruta, String token, Object cuerpo) {
+        try {
+            HttpRequest.BodyPublisher body = cuerpo == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo));
+            return enviar(endpoint, request(ruta, token)
+                    .header("Content-Type", "application/json")
+                    .POST(body)
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //Abre un stream SSE; la latencia registrada es hasta recibir los headers
+    CompletableFuture<HttpResponse<Stream<String>>> abrirStream(String endpoint, String ruta) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .whenComplete((response, error) -> registro.registrar(endpoint, System.nanoTime() - inicio,
+                        error == null && response.statusCode() == 200));
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private HttpRequest.Builder request(String ruta, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode enviar(String endpoint, HttpRequest request) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            ok = response.statusCode() / 100 == 2;
+            if (!ok || response.body().length == 0) {
+                return null;
+            }
+            JsonNode data = objectMapper.readTree(response.body()).get("data");
+            return data == null || data.isNull() ? null : data;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            registro.registrar(endpoint, System.nanoTime() - inicio, ok);
+        }
+    }
+}
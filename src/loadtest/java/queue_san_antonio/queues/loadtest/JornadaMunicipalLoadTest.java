@@ -0,0 +1,323 @@
+package queue_san_antonio.queues.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import queue_san_antonio.queues.QueuesApplication;
+import queue_san_antonio.queues.models.Empleado;
+import queue_san_antonio.queues.models.RolEmpleado;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.TipoSector;
+import queue_san_antonio.queues.repositories.EmpleadoRepository;
+import queue_san_antonio.queues.repositories.SectorRepository;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+//Prueba de carga: simula una jornada de atención de la municipalidad contra una instancia real
+// - la app arranca en este proceso con el perfil "loadtest" (H2 en modo PostgreSQL, sin Flyway)
+// - kioscos generan turnos siguiendo la curva de llegadas de una mañana (comprimida en el tiempo)
+// - cada operador llama, atiende y finaliza turnos de su sector hasta vaciar la cola
+// - pantallas/TVs: cientos de suscriptores SSE repartidos entre los sectores
+//Al final informa p50/p99 y throughput por endpoint (consola + JSON)
+//
+//Parámetros (system properties, ej. ./gradlew loadTest -Dloadtest.turnos=5000):
+// loadtest.sectores, loadtest.operadores-por-sector, loadtest.turnos, loadtest.kioscos,
+// loadtest.suscriptores, loadtest.jornada-segundos, loadtest.atencion-ms, loadtest.resultado
+public class JornadaMunicipalLoadTest {
+
+    private static final String PASSWORD = "loadtest";
+
+    //Distribución de llegadas por hora (08 a 13 hs), pico a media mañana
+    private static final double[] LLEGADAS_POR_HORA = {0.10, 0.22, 0.28, 0.24, 0.16};
+
+    private final int sectores = Integer.getInteger("loadtest.sectores", 6);
+    private final int operadoresPorSector = Integer.getInteger("loadtest.operadores-por-sector", 2);
+    private final int turnos = Integer.getInteger("loadtest.turnos", 3000);
+    private final int kioscos = Integer.getInteger("loadtest.kioscos", 8);
+    private final int suscriptores = Integer.getInteger("loadtest.suscriptores", 300);
+    private final int jornadaSegundos = Integer.getInteger("loadtest.jornada-segundos", 120);
+    private final int atencionMs = Integer.getInteger("loadtest.atencion-ms", 40);
+    private final Path resultado = Path.of(System.getProperty("loadtest.resultado",
+            "build/reports/loadtest/results.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final RegistroLatencias registro = new RegistroLatencias();
+    private final AtomicLong eventosSse = new AtomicLong();
+    private final AtomicInteger turnosAtendidos = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        new JornadaMunicipalLoadTest().ejecutar(args);
+    }
+
+    private void ejecutar(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QueuesApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .run(args);
+
+        try {
+            int puerto = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ClienteApi cliente = new ClienteApi("http://localhost:" + puerto, objectMapper, registro);
+
+            List<Sector> sectoresCreados = crearDatos(context);
+
+            long inicio = System.nanoTime();
+            List<HttpResponse<Stream<String>>> streams = abrirSuscriptores(cliente, sectoresCreados);
+            simularJornada(cliente, sectoresCreados);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            streams.forEach(s -> s.body().close());
+            informar(segundos);
+        } finally {
+            context.close();
+        }
+    }
+
+    // ==========================================
+    // DATOS
+    // ==========================================
+
+    //Sectores, un operador por puesto y un usuario para los kioscos
+    private List<Sector> crearDatos(ConfigurableApplicationContext context) {
+        SectorRepository sectorRepository = context.getBean(SectorRepository.class);
+        EmpleadoRepository empleadoRepository = context.getBean(EmpleadoRepository.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Sector> creados = new ArrayList<>();
+        for (int s = 1; s <= sectores; s++) {
+            Sector sector = sectorRepository.save(Sector.builder()
+                    .codigo("L" + s)
+                    .nombre("Sector carga " + s)
+                    .activo(true)
+                    .tipoSector(TipoSector.NORMAL)
+                    .requiereCitaPrevia(false)
+                    .ordenVisualizacion(s)
+                    .build());
+            creados.add(sector);
+
+            for (int o = 1; o <= operadoresPorSector; o++) {
+                empleadoRepository.save(empleado("op-" + sector.getCodigo() + "-" + o, hash, RolEmpleado.OPERADOR, sector));
+            }
+        }
+
+        empleadoRepository.save(empleado("kiosco", hash, RolEmpleado.ADMIN, null));
+        return creados;
+    }
+
+    private Empleado empleado(String username, String hash, RolEmpleado rol, Sector sector) {
+        return Empleado.builder()
+                .username(username)
+                .password(hash)
+                .nombre("Carga")
+                .apellido(username)
+                .rol(rol)
+                .activo(true)
+                .sector(sector)
+                .build();
+    }
+
+    // ==========================================
+    // SIMULACIÓN
+    // ==========================================
+
+    //Suscriptores SSE repartidos entre sectores; consumen eventos hasta que se cierra el stream
+    private List<HttpResponse<Stream<String>>> abrirSuscriptores(ClienteApi cliente, List<Sector> sectoresCreados) {
+        List<CompletableFuture<HttpResponse<Stream<String>>>> pendientes = new ArrayList<>();
+        for (int i = 0; i < suscriptores; i++) {
+            Long sectorId = sectoresCreados.get(i % sectoresCreados.size()).getId();
+            pendientes.add(cliente.abrirStream("GET /api/sectores/{id}/stream", "/api/sectores/" + sectorId + "/stream"));
+        }
+
+        List<HttpResponse<Stream<String>>> abiertos = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<Stream<String>>> pendiente : pendientes) {
+            try {
+                HttpResponse<Stream<String>> response = pendiente.get(30, TimeUnit.SECONDS);
+                abiertos.add(response);
+                Thread.ofVirtual().start(() -> consumirEventos(response.body()));
+            } catch (Exception e) {
+                // Ya quedó registrado como error de conexión
+            }
+        }
+
+        System.out.printf("Suscriptores SSE conectados: %d de %d%n", abiertos.size(), suscriptores);
+        return abiertos;
+    }
+
+    private void consumirEventos(Stream<String> lineas) {
+        try (lineas) {
+            lineas.filter(linea -> linea.startsWith("event:")).forEach(linea -> eventosSse.incrementAndGet());
+        } catch (RuntimeException e) {
+            // Stream cerrado al terminar la prueba
+        }
+    }
+
+    //Kioscos generando turnos y operadores atendiendo en paralelo hasta vaciar las colas
+    private void simularJornada(ClienteApi cliente, List<Sector> sectoresCreados) throws InterruptedException {
+        String tokenKiosco = cliente.login("kiosco", PASSWORD);
+
+        Map<Long, List<String>> tokensPorSector = new LinkedHashMap<>();
+        for (Sector sector : sectoresCreados) {
+            List<String> tokens = new ArrayList<>();
+            for (int o = 1; o <= operadoresPorSector; o++) {
+                tokens.add(cliente.login("op-" + sector.getCodigo() + "-" + o, PASSWORD));
+            }
+            tokensPorSector.put(sector.getId(), tokens);
+        }
+
+        ConcurrentLinkedQueue<Long> llegadas = new ConcurrentLinkedQueue<>(planificarLlegadas());
+        AtomicInteger kioscosActivos = new AtomicInteger(kioscos);
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int k = 0; k < kioscos; k++) {
+                int semilla = k;
+                executor.submit(() -> {
+                    try {
+                        generarTurnos(cliente, tokenKiosco, sectoresCreados, llegadas, inicio, new Random(semilla));
+                    } finally {
+                        kioscosActivos.decrementAndGet();
+                    }
+                });
+            }
+
+            tokensPorSector.forEach((sectorId, tokens) -> tokens.forEach(token ->
+                    executor.submit(() -> atender(cliente, token, sectorId, kioscosActivos))));
+        }
+
+        System.out.printf("Turnos atendidos: %d de %d%n", turnosAtendidos.get(), turnos);
+    }
+
+    //Instantes de llegada (nanos desde el inicio) según la curva horaria, comprimidos a la duración pedida
+    private List<Long> planificarLlegadas() {
+        Random random = new Random(7);
+        double nanosPorHora = jornadaSegundos * 1e9 / LLEGADAS_POR_HORA.length;
+
+        List<Long> llegadas = new ArrayList<>(turnos);
+        for (int h = 0; h < LLEGADAS_POR_HORA.length; h++) {
+            int cantidad = (int) Math.round(turnos * LLEGADAS_POR_HORA[h]);
+            for (int i = 0; i < cantidad && llegadas.size() < turnos; i++) {
+                llegadas.add((long) ((h + random.nextDouble()) * nanosPorHora));
+            }
+        }
+        llegadas.sort(Long::compare);
+        return llegadas;
+    }
+
+    private void generarTurnos(ClienteApi cliente, String token, List<Sector> sectoresCreados,
+                               ConcurrentLinkedQueue<Long> llegadas, long inicio, Random random) {
+        Long llegada;
+        while ((llegada = llegadas.poll()) != null) {
+            esperarHasta(inicio + llegada);
+
+            // Datos completos del ciudadano: sin teléfono y dirección el alta se rechaza (INVALID_PARAMETERS)
+            Sector sector = sectoresCreados.get(random.nextInt(sectoresCreados.size()));
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("dni", String.valueOf(30_000_000 + random.nextInt(20_000_000)));
+            request.put("nombre", "Vecino");
+            request.put("apellido", "Carga");
+            request.put("telefono", "351" + (4_000_000 + random.nextInt(5_000_000)));
+            request.put("direccion", "Calle " + (1 + random.nextInt(2_000)));
+            request.put("sectorId", sector.getId());
+
+            cliente.post("POST /api/turnos/generar", "/api/turnos/generar", token, request);
+        }
+    }
+
+    //Ciclo de un puesto de atención: próximo -> llamar -> iniciar -> (atención) -> finalizar
+    private void atender(ClienteApi cliente, String token, Long sectorId, AtomicInteger kioscosActivos) {
+        while (true) {
+            JsonNode proximo = cliente.get("GET /api/turnos/proximo/{sectorId}",
+                    "/api/turnos/proximo/" + sectorId, token);
+
+            if (proximo == null) {
+                if (kioscosActivos.get() == 0) {
+                    return;
+                }
+                dormir(200);
+                continue;
+            }
+
+            long turnoId = proximo.get("id").asLong();
+            String base = "/api/turnos/" + turnoId;
+
+            // Otro puesto del mismo sector pudo tomarlo primero: se cuenta como error y se sigue
+            if (cliente.post("POST /api/turnos/{id}/llamar", base + "/llamar", token, Map.of("turnoId", turnoId)) == null) {
+                continue;
+            }
+            if (cliente.post("POST /api/turnos/{id}/iniciar-atencion", base + "/iniciar-atencion", token, null) == null) {
+                continue;
+            }
+
+            dormir(atencionMs);
+
+            if (cliente.post("POST /api/turnos/{id}/finalizar", base + "/finalizar", token, Map.of()) != null) {
+                turnosAtendidos.incrementAndGet();
+            }
+        }
+    }
+
+    // ==========================================
+    // INFORME
+    // ==========================================
+
+    private void informar(double segundos) throws Exception {
+        Map<String, RegistroLatencias.Resumen> resumen = registro.resumen(segundos);
+
+        System.out.printf("%nJornada simulada en %.1f s - eventos SSE recibidos: %d%n", segundos, eventosSse.get());
+        System.out.printf("%-42s %8s %7s %9s %9s %9s %9s%n", "endpoint", "n", "errores", "p50 ms", "p99 ms", "max ms", "req/s");
+        resumen.forEach((endpoint, r) -> System.out.printf("%-42s %8d %7d %9.2f %9.2f %9.2f %9.1f%n",
+                endpoint, r.solicitudes(), r.errores(), r.p50Ms(), r.p99Ms(), r.maxMs(), r.porSegundo()));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("parametros", Map.of(
+                "sectores", sectores,
+                "operadoresPorSector", operadoresPorSector,
+                "turnos", turnos,
+                "kioscos", kioscos,
+                "suscriptores", suscriptores,
+                "jornadaSegundos", jornadaSegundos,
+                "atencionMs", atencionMs));
+        json.put("duracionSegundos", segundos);
+        json.put("turnosAtendidos", turnosAtendidos.get());
+        json.put("eventosSse", eventosSse.get());
+        json.put("endpoints", resumen);
+
+        Files.createDirectories(resultado.toAbsolutePath().getParent());
+        objectMapper.writeValue(resultado.toFile(), json);
+        System.out.println("Resultados: " + resultado.toAbsolutePath());
+    }
+
+    private static void esperarHasta(long nanos) {
+        long restante = nanos - System.nanoTime();
+        if (restante > 0) {
+            dormir(TimeUnit.NANOSECONDS.toMillis(restante));
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
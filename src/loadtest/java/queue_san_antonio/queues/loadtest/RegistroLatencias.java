@@ -0,0 +1,66 @@
+package queue_san_antonio.queues.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Latencias por endpoint (plantilla de ruta, no la URL concreta)
+//Guarda todas las muestras: una jornada simulada son decenas de miles, no millones
+class RegistroLatencias {
+
+    private final Map<String, Muestras> porEndpoint = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, long nanos, boolean ok) {
+        porEndpoint.computeIfAbsent(endpoint, k -> new Muestras()).agregar(nanos, ok);
+    }
+
+    //Resumen por endpoint, ordenado por nombre
+    Map<String, Resumen> resumen(double segundos) {
+        Map<String, Resumen> salida = new LinkedHashMap<>();
+        porEndpoint.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> salida.put(e.getKey(), e.getValue().resumir(segundos)));
+        return salida;
+    }
+
+    record Resumen(int solicitudes, int errores, double p50Ms, double p99Ms, double maxMs, double porSegundo) {
+    }
+
+    private static final class Muestras {
+        private long[] valores = new long[1024];
+        private int cantidad;
+        private int errores;
+
+        synchronized void agregar(long nanos, boolean ok) {
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = nanos;
+            if (!ok) {
+                errores++;
+            }
+        }
+
+        synchronized Resumen resumir(double segundos) {
+            long[] ordenados = Arrays.copyOf(valores, cantidad);
+            Arrays.sort(ordenados);
+            return new Resumen(
+                    cantidad,
+                    errores,
+                    percentil(ordenados, 0.50),
+                    percentil(ordenados, 0.99),
+                    cantidad == 0 ? 0 : ordenados[cantidad - 1] / 1_000_000.0,
+                    segundos > 0 ? cantidad / segundos : 0);
+        }
+
+        //Percentil por rango más cercano
+        private static double percentil(long[] ordenados, double q) {
+            if (ordenados.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(q * ordenados.length) - 1;
+            return ordenados[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package queue_san_antonio.queues.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+//Ejecución asíncrona (@Async) para tareas pesadas fuera del request
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    //Procesamiento de media: pocas tareas a la vez para no competir con la atención de turnos
+    //Es trabajo de CPU (decodificar/escalar): queda en hilos de plataforma aun con hilos virtuales
+    //activos. El applicationTaskExecutor de Spring Boot se sigue creando (spring.task.execution.mode=force)
+    @Bean(name = "mediaProcessingExecutor")
+    public Executor mediaProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("media-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package queue_san_antonio.queues.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    //Las evicciones dentro de una transacción se aplican recién después del commit,
+    //así una request concurrente no vuelve a cachear datos previos al cambio
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManager() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
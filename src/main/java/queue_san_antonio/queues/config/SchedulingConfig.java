@@ -0,0 +1,32 @@
+package queue_san_antonio.queues.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+//Habilita tareas programadas (@Scheduled)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    //Scheduler de la aplicación (@Scheduled y tareas programadas por los servicios)
+    //Se declara explícitamente: el broker STOMP registra su propio TaskScheduler y,
+    //sin este bean, Spring Boot no crearía el suyo y la inyección por tipo sería ambigua
+    @Bean(name = "taskScheduler")
+    @Primary
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        // Con hilos virtuales las tareas (resincronizaciones, avisos a pantallas) no ocupan el pool
+        scheduler.setVirtualThreads(virtualThreads);
+        return scheduler;
+    }
+}
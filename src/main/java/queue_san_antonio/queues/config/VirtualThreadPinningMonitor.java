@@ -0,0 +1,67 @@
+package queue_san_antonio.queues.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//Diagnóstico de hilos virtuales "pinneados" (no liberan su carrier mientras bloquean)
+//Escucha el evento JFR jdk.VirtualThreadPinned y lo registra en el log con la pila.
+//Desde Java 24 (JEP 491) synchronized ya no pinnea; quedan frames nativos, inicialización
+//de clases y algunos drivers. Activar con diagnostics.virtual-threads.pinning.enabled=true
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final int MAX_FRAMES = 12;
+
+    @Value("${diagnostics.virtual-threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> log.warn(
+                "Hilo virtual pinneado {} ms en {}:\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                formatStack(event.getStackTrace())));
+        stream.startAsync();
+
+        log.info("Monitoreo de pinning de hilos virtuales activo (umbral {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(sin pila)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." +
+                        frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
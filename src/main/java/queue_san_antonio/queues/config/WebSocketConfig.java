@@ -0,0 +1,66 @@
+package queue_san_antonio.queues.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import queue_san_antonio.queues.security.config.SecurityConfiguration;
+import queue_san_antonio.queues.security.jwt.StompAuthChannelInterceptor;
+
+//WebSocket/STOMP para consolas de operadores
+// - /topic/sectores/{id}: cambios de cola del sector (mismos eventos que el SSE por sector)
+// - /user/queue/turnos: avisos personales (turno llamado, turno redirigido al sector del operador)
+//Una sola conexión multiplexada por consola; broker simple en memoria
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final TaskScheduler taskScheduler;
+
+    //Límites por sesión: un cliente lento no puede acumular mensajes sin cota
+    @Value("${websocket.send-buffer-size-limit-bytes:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.send-time-limit-ms:15000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.message-size-limit-bytes:65536}")
+    private int messageSizeLimit;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns(SecurityConfiguration.ALLOWED_ORIGIN_PATTERNS.toArray(String[]::new));
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{10_000, 10_000})
+                .setTaskScheduler(taskScheduler);
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Si el buffer de salida de una sesión supera el límite (o un envío tarda más que
+        // sendTimeLimit) la sesión se cierra; la consola reconecta y recarga su estado
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+}
@@ -0,0 +1,159 @@
+package queue_san_antonio.queues.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//Sentencias SQL y tiempo JDBC por request HTTP
+// - headers X-Sql-Statements / X-Sql-Time-Ms (lo ejecutado hasta empezar a escribir la respuesta),
+//   solo con diagnostics.sql.headers=true: exponen el costo de cada endpoint a cualquier cliente
+// - métricas http.server.requests.sql y http.server.requests.sql.time por método y endpoint
+// - warning con los SQL más repetidos cuando el endpoint supera su presupuesto
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    static final String HEADER_SENTENCIAS = "X-Sql-Statements";
+    static final String HEADER_TIEMPO = "X-Sql-Time-Ms";
+
+    private static final String URI_DESCONOCIDA = "UNKNOWN";
+    private static final int MAX_LARGO_SQL = 160;
+
+    private final MeterRegistry meterRegistry;
+    private final SqlDiagnosticsProperties properties;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.iniciar();
+        HttpServletResponse destino = properties.isHeaders() ? new HeadersSqlResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, destino);
+        } finally {
+            SqlRequestStats.finalizar();
+            if (destino instanceof HeadersSqlResponse wrapper) {
+                wrapper.escribirHeaders();
+            }
+            registrar(request, stats);
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private void registrar(HttpServletRequest request, SqlRequestStats stats) {
+        // Patrón de la ruta (ej. /api/turnos/{id}) para no crear una serie por cada id
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : URI_DESCONOCIDA;
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("Sentencias SQL por request")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(stats.sentencias());
+
+        Timer.builder("http.server.requests.sql.time")
+                .description("Tiempo de ejecución JDBC por request")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.nanosJdbc(), TimeUnit.NANOSECONDS);
+
+        int presupuesto = properties.presupuestoPara(uri);
+        if (stats.sentencias() > presupuesto) {
+            log.warn("Presupuesto SQL excedido en {} {}: {} sentencias (presupuesto {}), {} ms JDBC. Más repetidas: {}",
+                    metodo, uri, stats.sentencias(), presupuesto,
+                    TimeUnit.NANOSECONDS.toMillis(stats.nanosJdbc()),
+                    describir(stats.masRepetidas(3)));
+        }
+    }
+
+    private static String describir(List<Map.Entry<String, Integer>> repetidas) {
+        if (repetidas.isEmpty()) {
+            return "ninguna";
+        }
+        return repetidas.stream()
+                .map(e -> e.getValue() + "x [" + abreviar(e.getKey()) + "]")
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String abreviar(String sql) {
+        String limpio = sql.replaceAll("\\s+", " ").trim();
+        return limpio.length() <= MAX_LARGO_SQL ? limpio : limpio.substring(0, MAX_LARGO_SQL) + "...";
+    }
+
+    //Agrega los headers justo antes de que se empiece a escribir el cuerpo (después ya no se puede)
+    private static final class HeadersSqlResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean escritos;
+
+        private HeadersSqlResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escribirHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escribirHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escribirHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escribirHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escribirHeaders();
+            super.sendError(sc);
+        }
+
+        private void escribirHeaders() {
+            if (escritos || isCommitted()) {
+                return;
+            }
+            escritos = true;
+            setHeader(HEADER_SENTENCIAS, String.valueOf(stats.sentencias()));
+            setHeader(HEADER_TIEMPO, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.nanosJdbc())));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package queue_san_antonio.queues.config.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//Instrumentación SQL por request para encontrar N+1 con tráfico real
+//Se registra antes de Spring Security para contar también la carga del usuario autenticado
+//Desactivar con diagnostics.sql.enabled=false
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlDiagnosticsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(MeterRegistry meterRegistry,
+                                                                   SqlDiagnosticsProperties properties) {
+        FilterRegistrationBean<SqlBudgetFilter> registro =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(meterRegistry, properties));
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
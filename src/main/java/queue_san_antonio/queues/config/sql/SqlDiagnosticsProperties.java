@@ -0,0 +1,25 @@
+package queue_san_antonio.queues.config.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//Presupuesto de sentencias SQL por request
+//diagnostics.sql.presupuestos[/api/turnos/listar]=60 ajusta el límite de un endpoint puntual
+//diagnostics.sql.headers=true agrega X-Sql-Statements / X-Sql-Time-Ms a las respuestas (solo para diagnóstico)
+@Configuration
+@ConfigurationProperties(prefix = "diagnostics.sql")
+@Data
+public class SqlDiagnosticsProperties {
+    private int presupuesto = 25;
+    private boolean headers = false;
+    private Map<String, Integer> presupuestos = new HashMap<>();
+
+    //Presupuesto del endpoint (patrón de ruta de Spring MVC)
+    public int presupuestoPara(String uri) {
+        return presupuestos.getOrDefault(uri, presupuesto);
+    }
+}
@@ -0,0 +1,64 @@
+package queue_san_antonio.queues.config.sql;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Contadores SQL del request HTTP en curso (uno por hilo de request)
+//Fuera de un request (tareas programadas, @Async) no hay contexto y no se cuenta nada
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> ACTUAL = new ThreadLocal<>();
+
+    //Límite de SQL distintos guardados para detectar repeticiones (N+1)
+    private static final int MAX_SENTENCIAS_DISTINTAS = 200;
+
+    private int sentencias;
+    private long nanosJdbc;
+    private final Map<String, Integer> repeticiones = new HashMap<>();
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats iniciar() {
+        SqlRequestStats stats = new SqlRequestStats();
+        ACTUAL.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats actual() {
+        return ACTUAL.get();
+    }
+
+    static void finalizar() {
+        ACTUAL.remove();
+    }
+
+    void registrarSentencia(String sql) {
+        sentencias++;
+        if (repeticiones.size() < MAX_SENTENCIAS_DISTINTAS || repeticiones.containsKey(sql)) {
+            repeticiones.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void registrarTiempo(long nanos) {
+        nanosJdbc += nanos;
+    }
+
+    int sentencias() {
+        return sentencias;
+    }
+
+    long nanosJdbc() {
+        return nanosJdbc;
+    }
+
+    //SQL idénticos ejecutados varias veces en el request (candidatos a N+1), de mayor a menor
+    List<Map.Entry<String, Integer>> masRepetidas(int limite) {
+        return repeticiones.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limite)
+                .toList();
+    }
+}
@@ -0,0 +1,16 @@
+package queue_san_antonio.queues.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//Cuenta cada sentencia que Hibernate prepara en el request actual (no modifica el SQL)
+class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlRequestStats.actual();
+        if (stats != null) {
+            stats.registrarSentencia(sql);
+        }
+        return sql;
+    }
+}
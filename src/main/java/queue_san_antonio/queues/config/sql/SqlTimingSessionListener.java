@@ -0,0 +1,38 @@
+package queue_san_antonio.queues.config.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+//Mide el tiempo de ejecución JDBC de la sesión y lo suma al request actual
+//Hibernate crea una instancia por sesión (hibernate.session.events.auto): debe ser pública y sin argumentos
+public class SqlTimingSessionListener extends BaseSessionEventListener {
+
+    private long inicioSentencia;
+    private long inicioBatch;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioSentencia = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        registrar(inicioSentencia);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioBatch = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        registrar(inicioBatch);
+    }
+
+    private static void registrar(long inicio) {
+        SqlRequestStats stats = SqlRequestStats.actual();
+        if (stats != null && inicio != 0) {
+            stats.registrarTiempo(System.nanoTime() - inicio);
+        }
+    }
+}
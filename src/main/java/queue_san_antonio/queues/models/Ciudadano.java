@@ -2,7 +2,11 @@ package queue_san_antonio.queues.models;
 
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.*;
@@ -14,6 +18,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "ciudadanos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ciudadanos")
+@NaturalIdCache(region = "ciudadanos-dni")
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +32,7 @@ public class Ciudadano {
     @EqualsAndHashCode.Include
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(name = "dni", unique = true, nullable = false, length = 20)
     @NotBlank(message = "El DNI es obligatorio")
     @Pattern(regexp = "^[0-9]{7,8}$", message = "El DNI debe tener entre 7 y 8 dígitos")
@@ -1,6 +1,8 @@
 package queue_san_antonio.queues.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +16,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "empleados")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empleados")
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -82,6 +85,7 @@ public class Empleado {
     private Sector sector; // Sector al que pertenece (null para admins)
 
     @OneToMany(mappedBy = "responsable", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empleados-sectores-responsable")
     @Builder.Default
     private List<Sector> sectoresResponsable = new ArrayList<>(); // Sectores que administra
 
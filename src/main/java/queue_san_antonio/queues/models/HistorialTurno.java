@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
 public class HistorialTurno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con bloques de 50 (optimizador pooled): permite batch de inserts sin ida y vuelta por id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historial_turnos_seq")
+    @SequenceGenerator(name = "historial_turnos_seq", sequenceName = "historial_turnos_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
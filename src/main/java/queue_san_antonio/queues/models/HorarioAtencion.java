@@ -1,6 +1,8 @@
 package queue_san_antonio.queues.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +17,7 @@ import java.util.ArrayList;
 
 @Entity
 @Table(name = "horarios_atencion")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "horarios-atencion")
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
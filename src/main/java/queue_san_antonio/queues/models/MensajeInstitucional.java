@@ -45,6 +45,13 @@ public class MensajeInstitucional {
     @Size(max = 300, message = "La ruta del archivo no puede exceder 300 caracteres")
     private String rutaArchivo; // Para imágenes/videos
 
+    //Versiones reducidas generadas en el servidor (solo imágenes, ver MediaProcessingService)
+    @Column(name = "ruta_archivo_pantalla", length = 300)
+    private String rutaArchivoPantalla; // JPEG a resolución de pantalla
+
+    @Column(name = "ruta_miniatura", length = 300)
+    private String rutaMiniatura; // JPEG miniatura para listados de administración
+
     @Column(name = "duracion")
     @Min(value = 3, message = "La duración mínima es 3 segundos")
     @Max(value = 120, message = "La duración máxima es 120 segundos")
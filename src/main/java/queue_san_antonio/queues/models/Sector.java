@@ -1,6 +1,8 @@
 package queue_san_antonio.queues.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,6 +15,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "sectores")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sectores")
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -86,6 +89,7 @@ public class Sector {
     private Empleado responsable;
 
     @OneToMany(mappedBy = "sector", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sectores-empleados")
     @Builder.Default
     private List<Empleado> empleados = new ArrayList<>();
 
@@ -94,6 +98,7 @@ public class Sector {
     private List<Turno> turnos = new ArrayList<>();
 
     @OneToMany(mappedBy = "sector", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sectores-horarios")
     @Builder.Default
     private List<HorarioAtencion> horariosAtencion = new ArrayList<>();
 
@@ -0,0 +1,56 @@
+package queue_san_antonio.queues.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+//Token JWT revocado antes de su expiración (logout, desactivación de empleado)
+//Si tokenId es null, el registro revoca todos los tokens del usuario emitidos hasta revocadoEn
+@Entity
+@Table(name = "tokens_revocados",
+        indexes = {
+                @Index(name = "idx_token_revocado_token_id", columnList = "token_id", unique = true),
+                @Index(name = "idx_token_revocado_expira", columnList = "expira_en")
+        })
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TokenRevocado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    //jti del token (o hash SHA-256 para tokens emitidos sin jti)
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @CreationTimestamp
+    @Column(name = "revocado_en", nullable = false, updatable = false)
+    private LocalDateTime revocadoEn;
+
+    //A partir de esta fecha el token ya no sería válido y el registro puede eliminarse
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @Column(name = "motivo", length = 50)
+    private String motivo;
+
+    // Métodos helper
+
+    /**
+     * Verifica si el registro revoca todos los tokens del usuario
+     * @return true si no apunta a un token puntual
+     */
+    public boolean esRevocacionDeUsuario() {
+        return tokenId == null;
+    }
+}
@@ -31,7 +31,9 @@ import java.util.List;
 public class Turno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con bloques de 50 (optimizador pooled): permite batch de inserts sin ida y vuelta por id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "turnos_seq")
+    @SequenceGenerator(name = "turnos_seq", sequenceName = "turnos_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
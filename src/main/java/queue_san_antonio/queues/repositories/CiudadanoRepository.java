@@ -1,5 +1,7 @@
 package queue_san_antonio.queues.repositories;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,6 +29,15 @@ public interface CiudadanoRepository extends JpaRepository<Ciudadano, Long> {
 
     List<Ciudadano> findAllByOrderByApellidoAscNombreAsc();
 
+    // Listado paginado con cantidad de turnos y turno pendiente resueltos en la misma consulta
+    // Cada fila: [Ciudadano, Long cantidadTurnos, Boolean tieneTurnoPendiente]
+    @Query(value = "SELECT c, " +
+            "(SELECT COUNT(t) FROM Turno t WHERE t.ciudadano = c), " +
+            "CASE WHEN EXISTS (SELECT tp FROM Turno tp WHERE tp.ciudadano = c AND tp.estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO')) THEN true ELSE false END " +
+            "FROM Ciudadano c ORDER BY c.apellido ASC, c.nombre ASC",
+            countQuery = "SELECT COUNT(c) FROM Ciudadano c")
+    Page<Object[]> findAllConResumenTurnos(Pageable pageable);
+
     // Búsqueda por apellido normalizado (sin tildes)
     @Query("SELECT c FROM Ciudadano c WHERE " + "LOWER(FUNCTION('REGEXP_REPLACE', " + "FUNCTION('REGEXP_REPLACE', " + "FUNCTION('REGEXP_REPLACE', " + "FUNCTION('REGEXP_REPLACE', " + "FUNCTION('REGEXP_REPLACE', LOWER(c.apellido), '[áàäâã]', 'a'), " + "'[éèëê]', 'e'), '[íìïî]', 'i'), '[óòöôõ]', 'o'), '[úùüû]', 'u')) " + "LIKE LOWER(CONCAT('%', :apellidoNormalizado, '%'))")
     List<Ciudadano> findByApellidoNormalizado(@Param("apellidoNormalizado") String apellidoNormalizado);
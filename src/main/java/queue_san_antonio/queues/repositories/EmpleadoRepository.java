@@ -1,7 +1,10 @@
 package queue_san_antonio.queues.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import queue_san_antonio.queues.models.Empleado;
 import queue_san_antonio.queues.models.RolEmpleado;
@@ -12,6 +15,7 @@ import java.util.Optional;
 @Repository
 public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     // Para login
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Empleado> findByUsername(String username);
 
     // Empleados activos de un sector
@@ -1,7 +1,10 @@
 package queue_san_antonio.queues.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import queue_san_antonio.queues.models.HorarioAtencion;
@@ -17,6 +20,7 @@ public interface HorarioAtencionRepository extends JpaRepository<HorarioAtencion
 
     // Horarios de un día específico
     @Query("SELECT h FROM HorarioAtencion h WHERE h.sector.id = :sectorId AND h.diaSemana = :diaSemana AND h.activo = true ORDER BY h.horaInicio")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<HorarioAtencion> findHorariosPorDia(@Param("sectorId") Long sectorId, @Param("diaSemana") java.time.DayOfWeek diaSemana);
 
     // Horarios ACTIVOS de un sector para un día puntual
@@ -28,6 +32,7 @@ public interface HorarioAtencionRepository extends JpaRepository<HorarioAtencion
         AND h.diaSemana = :diaSemana
       ORDER BY h.horaInicio
     """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<HorarioAtencion> findActivosBySectorAndDia(
             @Param("sectorId") Long sectorId,
             @Param("diaSemana") DayOfWeek diaSemana
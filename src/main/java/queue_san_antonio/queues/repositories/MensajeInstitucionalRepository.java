@@ -1,9 +1,11 @@
 package queue_san_antonio.queues.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import queue_san_antonio.queues.models.MensajeInstitucional;
 
 import java.time.LocalDateTime;
@@ -22,5 +24,21 @@ public interface MensajeInstitucionalRepository extends JpaRepository<MensajeIns
             "ORDER BY m.orden ASC")
     List<MensajeInstitucional> findMensajesVigentes(@Param("ahora") LocalDateTime ahora);
 
+    // Mensajes activos vigentes ahora o en el futuro (base de la agenda en memoria)
+    @Query("SELECT m FROM MensajeInstitucional m LEFT JOIN FETCH m.configuracion WHERE m.activo = true AND " +
+            "(m.fechaFin IS NULL OR m.fechaFin >= :ahora) " +
+            "ORDER BY m.orden ASC")
+    List<MensajeInstitucional> findActivosNoVencidos(@Param("ahora") LocalDateTime ahora);
+
     List<MensajeInstitucional> findByConfiguracionIdOrderByOrdenAsc(Long configuracionId);
+
+    // Registra las versiones procesadas solo si el archivo original no cambió mientras tanto
+    @Modifying
+    @Transactional
+    @Query("UPDATE MensajeInstitucional m SET m.rutaArchivoPantalla = :pantalla, m.rutaMiniatura = :miniatura " +
+            "WHERE m.id = :id AND m.rutaArchivo = :original")
+    int actualizarRenditions(@Param("id") Long id,
+                             @Param("original") String rutaOriginal,
+                             @Param("pantalla") String rutaPantalla,
+                             @Param("miniatura") String rutaMiniatura);
 }
@@ -1,7 +1,10 @@
 package queue_san_antonio.queues.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import queue_san_antonio.queues.models.Sector;
@@ -13,10 +16,12 @@ import java.util.Optional;
 public interface SectorRepository extends JpaRepository<Sector, Long> {
 
     // Buscar por código
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Sector> findByCodigo(String codigo);
 
     // Sectores activos ordenados por orden de visualización
     @Query("SELECT s FROM Sector s WHERE s.activo = true ORDER BY s.ordenVisualizacion ASC, s.nombre ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Sector> findActivosOrdenados();
 
     // Sectores que requieren cita previa
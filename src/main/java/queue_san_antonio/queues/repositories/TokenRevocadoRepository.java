@@ -0,0 +1,25 @@
+package queue_san_antonio.queues.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import queue_san_antonio.queues.models.TokenRevocado;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocadoRepository extends JpaRepository<TokenRevocado, Long> {
+
+    // Revocaciones todavía vigentes (se cargan en memoria)
+    List<TokenRevocado> findByExpiraEnAfter(LocalDateTime fecha);
+
+    boolean existsByTokenId(String tokenId);
+
+    // Limpieza de revocaciones de tokens que ya expiraron
+    @Modifying
+    @Query("DELETE FROM TokenRevocado t WHERE t.expiraEn <= :fecha")
+    int deleteExpirados(@Param("fecha") LocalDateTime fecha);
+}
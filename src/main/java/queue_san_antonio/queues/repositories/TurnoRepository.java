@@ -21,12 +21,14 @@ import java.util.Optional;
 public interface TurnoRepository extends JpaRepository<Turno, Long> {
 
     // Buscar por código - el más reciente si hay duplicados
-    @Query(value = "SELECT * FROM turnos WHERE codigo = :codigo ORDER BY fecha_hora_generacion DESC LIMIT 1", nativeQuery = true)
-    Optional<Turno> findByCodigo(@Param("codigo") String codigo);
+    // Recorre uk_turno_codigo_fecha hacia atrás y corta en el primero
+    Optional<Turno> findFirstByCodigoOrderByFechaHoraGeneracionDesc(String codigo);
 
-    // Método adicional para buscar por código y fecha específica
-    @Query("SELECT t FROM Turno t WHERE t.codigo = :codigo AND DATE(t.fechaHoraGeneracion) = :fecha")
-    Optional<Turno> findByCodigoAndFecha(@Param("codigo") String codigo, @Param("fecha") LocalDate fecha);
+    // Turno con código y día de generación (rango semiabierto [desde, hasta) para usar uk_turno_codigo_fecha)
+    @Query("SELECT t FROM Turno t WHERE t.codigo = :codigo AND t.fechaHoraGeneracion >= :desde AND t.fechaHoraGeneracion < :hasta")
+    Optional<Turno> findByCodigoAndFecha(@Param("codigo") String codigo,
+                                         @Param("desde") LocalDateTime desde,
+                                         @Param("hasta") LocalDateTime hasta);
 
     // Turnos activos de un sector (cola de espera) - INCLUIR REDIRIGIDO
     @Query("SELECT t FROM Turno t WHERE t.sector.id = :sectorId AND t.estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO') ORDER BY t.prioridad DESC, t.fechaHoraGeneracion ASC")
@@ -36,9 +38,15 @@ public interface TurnoRepository extends JpaRepository<Turno, Long> {
     @Query("SELECT t FROM Turno t WHERE t.sector.id = :sectorId AND t.estado IN ('GENERADO', 'REDIRIGIDO') ORDER BY t.prioridad DESC, t.fechaHoraGeneracion ASC")
     List<Turno> findProximoTurnoSector(@Param("sectorId") Long sectorId);
 
+    // Resumen de colas para métricas: código de sector, turnos esperando y generación más antigua
+    @Query("SELECT t.sector.codigo, COUNT(t), MIN(t.fechaHoraGeneracion) FROM Turno t WHERE t.estado IN ('GENERADO', 'REDIRIGIDO') AND t.fechaHoraGeneracion >= :desde GROUP BY t.sector.codigo")
+    List<Object[]> resumenColasDesde(@Param("desde") LocalDateTime desde);
+
     // Turnos del día por sector
-    @Query("SELECT t FROM Turno t WHERE t.sector.id = :sectorId AND DATE(t.fechaHoraGeneracion) = :fecha ORDER BY t.fechaHoraGeneracion DESC")
-    List<Turno> findTurnosDelDiaBySector(@Param("sectorId") Long sectorId, @Param("fecha") LocalDate fecha);
+    @Query("SELECT t FROM Turno t WHERE t.sector.id = :sectorId AND t.fechaHoraGeneracion >= :desde AND t.fechaHoraGeneracion < :hasta ORDER BY t.fechaHoraGeneracion DESC")
+    List<Turno> findTurnosDelDiaBySector(@Param("sectorId") Long sectorId,
+                                         @Param("desde") LocalDateTime desde,
+                                         @Param("hasta") LocalDateTime hasta);
 
     // Último turno generado del día para generar código secuencial
 //    @Query("SELECT t FROM Turno t WHERE t.sector.codigo = :codigoSector AND DATE(t.fechaHoraGeneracion) = :fecha ORDER BY t.fechaHoraGeneracion DESC")
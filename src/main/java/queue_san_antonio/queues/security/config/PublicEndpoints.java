@@ -0,0 +1,152 @@
+package queue_san_antonio.queues.security.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Endpoints públicos (sin autenticación), fuente única para SecurityConfiguration y JwtRequestFilter
+//Los patrones se compilan una sola vez en un trie por segmentos:
+// - "*" coincide con exactamente un segmento
+// - "**" (solo al final) coincide con cualquier resto de la ruta
+//La verificación recorre la ruta sin crear substrings ni regex por request
+//Las rutas de solo lectura son públicas únicamente para GET: la misma ruta con otro método
+//(ej. POST /api/mensajes-institucionales/configuracion/{id}) requiere autenticación
+public final class PublicEndpoints {
+
+    //Patrones públicos en formato Ant, para cualquier método HTTP
+    public static final String[] PATTERNS = {
+            "/api/auth/login",
+            "/api/auth/refresh",
+            "/api/turnos/consulta/**",
+            "/api/pantalla/**",
+            "/ws/**" // Handshake WebSocket: la autenticación va en el frame STOMP CONNECT
+    };
+
+    //Patrones públicos solo para GET
+    public static final String[] GET_PATTERNS = {
+            "/api/sectores/publicos",
+            "/api/sectores/especiales",
+            "/api/sectores/*/stream",
+            "/api/configuraciones-pantalla/activa",
+            "/api/mensajes-institucionales/vigentes",
+            "/api/mensajes-institucionales/configuracion/*",
+            "/api/turnos/codigo/*",
+            "/api/media"
+    };
+
+    private static final Node ROOT = compile(PATTERNS);
+    private static final Node ROOT_GET = compile(GET_PATTERNS);
+
+    private PublicEndpoints() {
+    }
+
+    //Verifica si el método y la ruta corresponden a un endpoint público
+    public static boolean matches(String method, String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        return matches(ROOT, path, 1) || ("GET".equals(method) && matches(ROOT_GET, path, 1));
+    }
+
+    // ==========================================
+    // MATCHING
+    // ==========================================
+
+    private static boolean matches(Node node, String path, int start) {
+        if (node.matchesRest) {
+            return true;
+        }
+
+        int length = path.length();
+
+        // Ignorar barra final ("/api/auth/login/")
+        if (start >= length) {
+            return node.terminal;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int segmentLength = end - start;
+        int next = end + 1;
+
+        for (int i = 0; i < node.literals.size(); i++) {
+            String literal = node.literals.get(i);
+            if (literal.length() == segmentLength && path.regionMatches(start, literal, 0, segmentLength)) {
+                Node child = node.literalChildren.get(i);
+                if (next > length ? child.terminal || child.matchesRest : matches(child, path, next)) {
+                    return true;
+                }
+            }
+        }
+
+        if (node.wildcard != null && segmentLength > 0) {
+            Node child = node.wildcard;
+            return next > length ? child.terminal || child.matchesRest : matches(child, path, next);
+        }
+
+        return false;
+    }
+
+    // ==========================================
+    // COMPILACIÓN
+    // ==========================================
+
+    private static Node compile(String[] patterns) {
+        Node root = new Node();
+
+        for (String pattern : patterns) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("El patrón público debe comenzar con '/': " + pattern);
+            }
+
+            Node current = root;
+            String[] segments = pattern.substring(1).split("/");
+
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+
+                if ("**".equals(segment)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' solo se admite al final del patrón: " + pattern);
+                    }
+                    current.matchesRest = true;
+                    break;
+                }
+
+                current = "*".equals(segment) ? current.wildcardChild() : current.literalChild(segment);
+            }
+
+            current.terminal = true;
+        }
+
+        return root;
+    }
+
+    //Nodo del trie: hijos literales en listas paralelas para recorrer sin allocations
+    private static final class Node {
+        private final List<String> literals = new ArrayList<>();
+        private final List<Node> literalChildren = new ArrayList<>();
+        private Node wildcard;
+        private boolean terminal;
+        private boolean matchesRest;
+
+        private Node literalChild(String segment) {
+            int index = literals.indexOf(segment);
+            if (index >= 0) {
+                return literalChildren.get(index);
+            }
+            Node child = new Node();
+            literals.add(segment);
+            literalChildren.add(child);
+            return child;
+        }
+
+        private Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+    }
+}
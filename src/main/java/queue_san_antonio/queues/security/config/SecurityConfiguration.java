@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -34,6 +35,15 @@ import java.util.List;
 @Slf4j
 public class SecurityConfiguration {
 
+    //Orígenes permitidos (ajustar según el entorno); también los usa el endpoint WebSocket
+    public static final List<String> ALLOWED_ORIGIN_PATTERNS = List.of(
+            "http://localhost:3000",    // React dev server
+            "http://localhost:5173",    // Vite dev server
+            "http://localhost:8080",    // Spring Boot dev
+            "https://*.municipalidad.local", // Dominio local
+            "https://*.sanantonio.gov.ar"    // Dominio productivo
+    );
+
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtRequestFilter jwtRequestFilter;
@@ -53,14 +63,9 @@ public class SecurityConfiguration {
                 // Configurar autorización de requests
                 .authorizeHttpRequests(authz -> authz
                         // Endpoints públicos - NO requieren autenticación
-                        .requestMatchers("/api/auth/login", "/api/auth/refresh",
-                                "/api/sectores/publicos", "/api/sectores/especiales",
-                                "api/configuraciones-pantalla/activa",
-                                "api/mensajes-institucionales/vigentes", "api/mensajes-institucionales/configuracion/{configuracionId}",
-                                "api/turnos/codigo/{codigo}",
-                                "/api/sectores/*/stream").permitAll()
-                        .requestMatchers("/api/pantalla/**").permitAll()
-                        .requestMatchers("/api/turnos/consulta/**").permitAll()
+                        // (misma lista que usa JwtRequestFilter para omitir la validación del token)
+                        .requestMatchers(PublicEndpoints.PATTERNS).permitAll()
+                        .requestMatchers(HttpMethod.GET, PublicEndpoints.GET_PATTERNS).permitAll()
 
                         // Endpoints de desarrollo y monitoreo
 //                        .requestMatchers("/h2-console/**").permitAll()
@@ -124,14 +129,8 @@ public class SecurityConfiguration {
 
         CorsConfiguration configuration = new CorsConfiguration();
 
-        // Orígenes permitidos (ajustar según el entorno)
-        configuration.setAllowedOriginPatterns(Arrays.asList(
-                "http://localhost:3000",    // React dev server
-                "http://localhost:5173",    // Vite dev server
-                "http://localhost:8080",    // Spring Boot dev
-                "https://*.municipalidad.local", // Dominio local
-                "https://*.sanantonio.gov.ar"    // Dominio productivo
-        ));
+        // Orígenes permitidos
+        configuration.setAllowedOriginPatterns(ALLOWED_ORIGIN_PATTERNS);
 
         // Métodos HTTP permitidos
         configuration.setAllowedMethods(Arrays.asList(
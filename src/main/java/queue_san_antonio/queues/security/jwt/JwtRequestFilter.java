@@ -1,5 +1,6 @@
 package queue_san_antonio.queues.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -14,14 +15,13 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import queue_san_antonio.queues.security.config.PublicEndpoints;
+import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 
 
 @Component
@@ -29,20 +29,9 @@ import java.util.List;
 @Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final EmpleadoUserDetailsService userDetailsService;
     private final JwtService jwtService;
-
-    // Rutas que no requieren autenticación
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-            "/api/auth/login",
-            "/api/auth/refresh",
-            "/api/pantalla", // Pantallas públicas de turnos
-            "/api/turnos/consulta", // Consulta pública de turno por código
-            "/h2-console", // Base de datos H2 en desarrollo
-            "/actuator", // Endpoints de monitoreo
-            "/swagger-ui", // Documentación API
-            "/v3/api-docs" // OpenAPI
-    );
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -58,14 +47,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String requestTokenHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
         // Extraer token del header Authorization
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
 
             try {
-                username = jwtService.extractUsername(jwtToken);
+                // Única verificación de firma por request: los claims se reutilizan abajo
+                claims = jwtService.parseClaims(jwtToken);
+                username = claims.getSubject();
+
+                // Tokens revocados (logout / desactivación): verificación en memoria
+                if (tokenRevocationService.estaRevocado(claims, jwtService.getTokenId(claims, jwtToken))) {
+                    log.warn("Token JWT revocado para usuario: {}", username);
+                    setErrorResponse(response, "Token revocado", HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
+                }
                 log.debug("Token JWT procesado para usuario: {}", username);
 
             } catch (ExpiredJwtException e) {
@@ -106,9 +104,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // Validar y establecer autenticación si el token es válido
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                // Principal cacheado con TTL corto para no consultar la BD en cada request
+                UserDetails userDetails = this.userDetailsService.loadAuthenticatedPrincipal(username);
+
+                if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                    log.warn("Usuario inactivo intentando acceder con token JWT: {}", username);
 
-                if (jwtService.isTokenValid(jwtToken, userDetails)) {
+                } else if (jwtService.isTokenValid(claims, userDetails)) {
                     // Crear authentication token
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
@@ -125,7 +127,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                     log.debug("Autenticación establecida para usuario: {}", username);
 
                     // Agregar información del token a los headers de respuesta (opcional)
-                    addTokenInfoHeaders(response, jwtToken);
+                    addTokenInfoHeaders(response, claims);
 
                 } else {
                     log.warn("Token JWT inválido para usuario: {}", username);
@@ -141,28 +143,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
 
     //Verifica si el endpoint es público y no requiere autenticación
+    //Usa el trie precompilado de PublicEndpoints (sin regex ni allocations por request)
+    //Considera el método: las rutas de solo lectura no omiten el token en POST/PUT/DELETE
     private boolean isPublicEndpoint(HttpServletRequest request) {
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
-
-        // Endpoints completamente públicos
-        for (String publicPath : PUBLIC_ENDPOINTS) {
-            if (requestPath.startsWith(publicPath)) {
-                return true;
-            }
-        }
-
-        // Endpoints públicos específicos por método HTTP
-        if ("GET".equals(method)) {
-            if (requestPath.matches("/api/turnos/codigo/[A-Z0-9]+")) {
-                return true; // Consulta pública de turno por código
-            }
-            if (requestPath.startsWith("/api/sectores/publicos")) {
-                return true; // Lista de sectores para mostrar en pantalla
-            }
-        }
-
-        return false;
+        return PublicEndpoints.matches(request.getMethod(), request.getRequestURI());
     }
 
     //Establece una respuesta de error en formato JSON
@@ -181,9 +165,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
 
     //Agrega headers informativos sobre el token a la respuesta
-    private void addTokenInfoHeaders(HttpServletResponse response, String token) {
+    private void addTokenInfoHeaders(HttpServletResponse response, Claims claims) {
         try {
-            long remainingMinutes = jwtService.getTokenRemainingMinutes(token);
+            long remainingMinutes = jwtService.getTokenRemainingMinutes(claims);
             response.setHeader("X-Token-Remaining-Minutes", String.valueOf(remainingMinutes));
 
             if (remainingMinutes < 30) { // Advertir si el token expira en menos de 30 minutos
@@ -3,6 +3,7 @@ package queue_san_antonio.queues.security.jwt;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,9 +11,16 @@ import org.springframework.stereotype.Service;
 import queue_san_antonio.queues.models.Empleado;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -28,6 +36,56 @@ public class JwtService {
     @Value("${jwt.refresh-expiration:604800000}") // 7 días en milisegundos
     private long refreshExpiration;
 
+    //Cantidad máxima de tokens verificados recordados (LRU)
+    private static final int MAX_TOKENS_VERIFICADOS = 1024;
+
+    //Clave y parser se construyen una sola vez al iniciar
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    //LRU hash(token) -> claims ya verificados, para no repetir HMAC y parseo JSON
+    private final Map<String, Claims> tokensVerificados = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                    return size() > MAX_TOKENS_VERIFICADOS;
+                }
+            });
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    //Verifica el token una sola vez y devuelve sus claims
+    //Pensado para que el filtro parsee una vez por request y reutilice el resultado
+    public Claims parseClaims(String token) {
+        String hash = hashToken(token);
+
+        if (hash != null) {
+            Claims cached = tokensVerificados.get(hash);
+            if (cached != null) {
+                if (isExpired(cached)) {
+                    tokensVerificados.remove(hash);
+                    throw new ExpiredJwtException(null, cached, "Token JWT expirado");
+                }
+                return cached;
+            }
+        }
+
+        Claims claims = extractAllClaims(token);
+
+        if (hash != null) {
+            tokensVerificados.put(hash, claims);
+        }
+
+        return claims;
+    }
+
     //Extrae el username del token JWT
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -35,7 +93,7 @@ public class JwtService {
 
     //Extrae un claim específico del token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
@@ -75,6 +133,7 @@ public class JwtService {
 
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(empleado.getUsername())
                 .claim("empleadoId", empleado.getId())
                 .claim("rol", empleado.getRol().name())
@@ -86,33 +145,38 @@ public class JwtService {
                 .compact();
     }
 
+    //Identificador del token para revocación: jti, o hash para tokens emitidos sin jti
+    public String getTokenId(Claims claims, String token) {
+        String jti = claims.getId();
+        return jti != null ? jti : hashToken(token);
+    }
+
     //Verifica si el token es válido para el usuario
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            return isTokenValid(parseClaims(token), userDetails);
         } catch (Exception e) {
             log.error("Error validando token: {}", e.getMessage());
             return false;
         }
     }
 
-    //Verifica si el token ha expirado
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    //Verifica claims ya parseados contra el usuario (sin volver a verificar la firma)
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
-    //Extrae la fecha de expiración del token
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    //Verifica si los claims están expirados
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
     //Extrae todos los claims del token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -135,14 +199,26 @@ public class JwtService {
 
     //Obtiene la clave de firma para el JWT
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    //Hash SHA-256 del token para indexar el LRU sin guardar el token en memoria
+    private String hashToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
     }
 
     //Valida solo la estructura del token sin verificar expiración
     public boolean isTokenStructureValid(String token) {
         try {
-            extractAllClaims(token);
+            parseClaims(token);
             return true;
         } catch (ExpiredJwtException e) {
             // Token expirado pero estructuralmente válido
@@ -155,11 +231,19 @@ public class JwtService {
     //Obtiene el tiempo restante de vida del token en minutos
     public long getTokenRemainingMinutes(String token) {
         try {
-            Date expiration = extractExpiration(token);
-            long remaining = expiration.getTime() - System.currentTimeMillis();
-            return Math.max(0, remaining / (1000 * 60)); // Convertir a minutos
+            return getTokenRemainingMinutes(parseClaims(token));
         } catch (Exception e) {
             return 0;
         }
     }
+
+    //Obtiene el tiempo restante de vida a partir de claims ya parseados
+    public long getTokenRemainingMinutes(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return 0;
+        }
+        long remaining = expiration.getTime() - System.currentTimeMillis();
+        return Math.max(0, remaining / (1000 * 60)); // Convertir a minutos
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package queue_san_antonio.queues.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
+
+import java.security.Principal;
+import java.util.Map;
+
+//Autenticación y autorización de frames STOMP
+// - CONNECT: exige "Authorization: Bearer <jwt>" (mismas validaciones que JwtRequestFilter)
+// - SUBSCRIBE: /topic/sectores/{id} solo para empleados con acceso al sector; /user/queue/** propio
+// - SEND: las consolas solo reciben, no hay destinos de aplicación
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String PREFIJO_TOPIC_SECTOR = "/topic/sectores/";
+    private static final String PREFIJO_COLA_USUARIO = "/user/queue/";
+    private static final String ATRIBUTO_CLAIMS = "jwt.claims";
+    private static final String ATRIBUTO_TOKEN_ID = "jwt.tokenId";
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final EmpleadoUserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> autenticar(accessor);
+            case SUBSCRIBE -> autorizarSuscripcion(accessor);
+            case SEND -> throw new AccessDeniedException("Envío de mensajes no soportado");
+            default -> {
+            }
+        }
+
+        return message;
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private void autenticar(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new BadCredentialsException("Token requerido");
+        }
+
+        String token = header.substring(7);
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Token inválido en conexión STOMP: {}", e.getMessage());
+            throw new BadCredentialsException("Token inválido");
+        }
+
+        String tokenId = jwtService.getTokenId(claims, token);
+        if (tokenRevocationService.estaRevocado(claims, tokenId)) {
+            throw new BadCredentialsException("Token revocado");
+        }
+
+        UserDetails userDetails = userDetailsService.loadAuthenticatedPrincipal(claims.getSubject());
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked() ||
+                !jwtService.isTokenValid(claims, userDetails)) {
+            throw new BadCredentialsException("Usuario inactivo o token inválido");
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        Map<String, Object> atributos = accessor.getSessionAttributes();
+        if (atributos != null) {
+            atributos.put(ATRIBUTO_CLAIMS, claims);
+            atributos.put(ATRIBUTO_TOKEN_ID, tokenId);
+        }
+
+        log.debug("Conexión STOMP autenticada para usuario: {}", userDetails.getUsername());
+    }
+
+    private void autorizarSuscripcion(StompHeaderAccessor accessor) {
+        Principal usuario = accessor.getUser();
+        String destino = accessor.getDestination();
+        if (usuario == null || destino == null) {
+            throw new AccessDeniedException("Suscripción no autenticada");
+        }
+
+        // La conexión puede durar más que la sesión: logout/desactivación cortan nuevas suscripciones
+        Map<String, Object> atributos = accessor.getSessionAttributes();
+        if (atributos != null && atributos.get(ATRIBUTO_CLAIMS) instanceof Claims claims &&
+                tokenRevocationService.estaRevocado(claims, (String) atributos.get(ATRIBUTO_TOKEN_ID))) {
+            throw new AccessDeniedException("Token revocado");
+        }
+
+        if (destino.startsWith(PREFIJO_COLA_USUARIO)) {
+            return;
+        }
+
+        if (destino.startsWith(PREFIJO_TOPIC_SECTOR)) {
+            Long sectorId = parseSectorId(destino.substring(PREFIJO_TOPIC_SECTOR.length()));
+            if (sectorId != null && userDetailsService.canAccessSector(usuario.getName(), sectorId)) {
+                return;
+            }
+        }
+
+        log.warn("Suscripción STOMP rechazada - usuario: {}, destino: {}", usuario.getName(), destino);
+        throw new AccessDeniedException("Sin acceso al destino: " + destino);
+    }
+
+    private Long parseSectorId(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
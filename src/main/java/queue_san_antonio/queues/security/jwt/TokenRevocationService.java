@@ -0,0 +1,205 @@
+package queue_san_antonio.queues.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import queue_san_antonio.queues.models.TokenRevocado;
+import queue_san_antonio.queues.repositories.TokenRevocadoRepository;
+import queue_san_antonio.queues.utils.BloomFilter;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Registro de tokens revocados (logout / desactivación)
+//La consulta por request es solo en memoria: filtro de Bloom para el caso negativo
+//y mapa tokenId -> expiración para confirmar. La tabla tokens_revocados persiste
+//las revocaciones y se resincroniza periódicamente (reinicios y múltiples instancias)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final int CAPACIDAD_BLOOM = 10_000;
+    private static final double FALSOS_POSITIVOS_BLOOM = 0.01;
+
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+
+    @Value("${jwt.expiration:86400000}")
+    private long jwtExpiration;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    //Estado inmutable salvo por altas; se reemplaza completo en cada sincronización
+    private volatile Estado estado = new Estado();
+
+    @PostConstruct
+    void cargar() {
+        try {
+            reconstruir(tokenRevocadoRepository.findByExpiraEnAfter(LocalDateTime.now()));
+        } catch (Exception e) {
+            log.error("No se pudieron cargar los tokens revocados: {}", e.getMessage());
+        }
+    }
+
+    //Verifica si el token fue revocado (sin acceso a BD)
+    public boolean estaRevocado(Claims claims, String tokenId) {
+        Estado actual = this.estado;
+        long ahora = System.currentTimeMillis();
+
+        if (tokenId != null && actual.bloom.mightContain(tokenId)) {
+            Long expira = actual.tokens.get(tokenId);
+            if (expira != null && expira > ahora) {
+                return true;
+            }
+        }
+
+        if (!actual.cortesPorUsuario.isEmpty() && claims.getSubject() != null) {
+            Long corte = actual.cortesPorUsuario.get(claims.getSubject());
+            Date emitido = claims.getIssuedAt();
+            // iat tiene precisión de segundos: se compara contra el corte truncado y en forma estricta,
+            // así un login en el mismo segundo posterior al corte no queda rechazado
+            return corte != null && emitido != null && emitido.getTime() < truncarASegundos(corte);
+        }
+
+        return false;
+    }
+
+    //Revoca un token puntual hasta su expiración natural
+    @Transactional
+    public void revocar(String tokenId, String username, Date expiracion, String motivo) {
+        if (tokenId == null || username == null) {
+            throw new IllegalArgumentException("El token y el usuario no pueden ser nulos");
+        }
+
+        long expira = expiracion != null
+                ? expiracion.getTime()
+                : System.currentTimeMillis() + vidaMaximaToken();
+
+        if (!tokenRevocadoRepository.existsByTokenId(tokenId)) {
+            tokenRevocadoRepository.save(TokenRevocado.builder()
+                    .tokenId(tokenId)
+                    .username(username)
+                    .expiraEn(toLocalDateTime(expira))
+                    .motivo(motivo)
+                    .build());
+        }
+
+        // En memoria solo si la revocación se persiste: un rollback no deja tokens revocados de más
+        // Se lee this.estado al ejecutar: una sincronización en el medio pudo reemplazar el snapshot
+        TransaccionUtil.afterCommit(() -> this.estado.agregarToken(tokenId, expira));
+
+        log.info("Token revocado para usuario {} - motivo: {}", username, motivo);
+    }
+
+    //Revoca todos los tokens emitidos hasta ahora para el usuario
+    @Transactional
+    public void revocarTodos(String username, String motivo) {
+        if (username == null) {
+            throw new IllegalArgumentException("El usuario no puede ser nulo");
+        }
+
+        long ahora = System.currentTimeMillis();
+        long expira = ahora + vidaMaximaToken();
+
+        tokenRevocadoRepository.save(TokenRevocado.builder()
+                .username(username)
+                .expiraEn(toLocalDateTime(expira))
+                .motivo(motivo)
+                .build());
+
+        TransaccionUtil.afterCommit(() -> this.estado.agregarCorte(username, ahora));
+
+        log.info("Revocados todos los tokens del usuario {} - motivo: {}", username, motivo);
+    }
+
+    //Elimina revocaciones expiradas y recarga desde BD las registradas por otras instancias
+    @Scheduled(fixedDelayString = "${jwt.revocacion.sincronizacion-ms:60000}",
+            initialDelayString = "${jwt.revocacion.sincronizacion-ms:60000}")
+    @Transactional
+    public void sincronizar() {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        int eliminados = tokenRevocadoRepository.deleteExpirados(ahora);
+        List<TokenRevocado> vigentes = tokenRevocadoRepository.findByExpiraEnAfter(ahora);
+
+        reconstruir(vigentes);
+
+        if (eliminados > 0) {
+            log.debug("Revocaciones sincronizadas - vigentes: {}, eliminadas: {}", vigentes.size(), eliminados);
+        }
+    }
+
+    //Arma un nuevo snapshot con las revocaciones leídas y lo publica
+    private void reconstruir(List<TokenRevocado> vigentes) {
+        Estado nuevo = new Estado();
+        for (TokenRevocado revocado : vigentes) {
+            long revocadoEn = toEpochMillis(revocado.getRevocadoEn());
+            if (revocado.esRevocacionDeUsuario()) {
+                nuevo.agregarCorte(revocado.getUsername(), revocadoEn);
+            } else {
+                nuevo.agregarToken(revocado.getTokenId(), toEpochMillis(revocado.getExpiraEn()));
+            }
+        }
+
+        // Conservar altas locales que aún no se veían en la lectura
+        long ahoraMillis = System.currentTimeMillis();
+        Estado anterior = this.estado;
+        anterior.tokens.forEach((tokenId, expira) -> {
+            if (expira > ahoraMillis) {
+                nuevo.agregarToken(tokenId, expira);
+            }
+        });
+        anterior.cortesPorUsuario.forEach((username, corte) -> {
+            if (corte + vidaMaximaToken() > ahoraMillis) {
+                nuevo.agregarCorte(username, corte);
+            }
+        });
+
+        this.estado = nuevo;
+    }
+
+    //Un token (access o refresh) nunca vive más que esto
+    private long vidaMaximaToken() {
+        return Math.max(jwtExpiration, refreshExpiration);
+    }
+
+    private static long truncarASegundos(long epochMillis) {
+        return Math.floorDiv(epochMillis, 1000L) * 1000L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    //Snapshot en memoria de las revocaciones vigentes
+    private static final class Estado {
+        private final BloomFilter bloom = new BloomFilter(CAPACIDAD_BLOOM, FALSOS_POSITIVOS_BLOOM);
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        private final Map<String, Long> cortesPorUsuario = new ConcurrentHashMap<>();
+
+        private void agregarToken(String tokenId, long expira) {
+            tokens.put(tokenId, expira);
+            bloom.add(tokenId);
+        }
+
+        private void agregarCorte(String username, long corte) {
+            cortesPorUsuario.merge(username, corte, Math::max);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package queue_san_antonio.queues.security.userdetails;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -24,6 +25,9 @@ import java.util.List;
 @Slf4j
 public class EmpleadoUserDetailsService implements UserDetailsService {
 
+    //Cache de principales autenticados por JWT (TTL corto, ver ehcache.xml)
+    public static final String CACHE_PRINCIPALES = "empleados-auth";
+
     private final EmpleadoRepository empleadoRepository;
 
     @Override
@@ -49,6 +53,19 @@ public class EmpleadoUserDetailsService implements UserDetailsService {
         return createUserDetails(empleado);
     }
 
+    //Carga el principal para requests autenticadas con JWT, cacheado por username
+    //No incluye la contraseña: el objeto cacheado se comparte entre requests y nunca
+    //pasa por el AuthenticationManager (el login sigue usando loadUserByUsername)
+    @Cacheable(cacheNames = CACHE_PRINCIPALES, key = "#username.trim().toLowerCase()")
+    @Transactional(readOnly = true)
+    public UserDetails loadAuthenticatedPrincipal(String username) throws UsernameNotFoundException {
+        UserDetails userDetails = loadUserByUsername(username);
+
+        return User.withUserDetails(userDetails)
+                .password("")
+                .build();
+    }
+
     //Crea UserDetails a partir de un Empleado
     private UserDetails createUserDetails(Empleado empleado) {
         return User.builder()
@@ -0,0 +1,219 @@
+package queue_san_antonio.queues.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import queue_san_antonio.queues.models.MensajeInstitucional;
+import queue_san_antonio.queues.repositories.MensajeInstitucionalRepository;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Agenda en memoria de los mensajes institucionales vigentes
+//Los mensajes activos se cargan una vez y se arma una línea de tiempo con los instantes
+//en que cambia el conjunto vigente (fechaInicio / fin de fechaFin). Para cada tramo se
+//precalcula la lista y una tarea programada la publica al llegar el instante siguiente.
+//La lectura es solo una lectura volatile; la BD se consulta al modificar mensajes o al resincronizar
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgendaMensajesService {
+
+    private final MensajeInstitucionalRepository mensajeInstitucionalRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskScheduler taskScheduler;
+
+    //Se incrementa cada vez que cambia la lista vigente publicada
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Tramo actual = new Tramo(List.of(), 0L);
+    private NavigableMap<LocalDateTime, List<MensajeInstitucional>> lineaDeTiempo = new TreeMap<>();
+    private ScheduledFuture<?> proximoCambio;
+
+    //Interesados en cambios de la lista vigente (ej. snapshot de pantallas)
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void cargar() {
+        try {
+            recargar();
+        } catch (Exception e) {
+            log.error("No se pudo cargar la agenda de mensajes: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void detener() {
+        cancelarProximoCambio();
+    }
+
+    //Mensajes vigentes en este momento (lista inmutable, ordenada por orden)
+    //Las entidades son compartidas: solo lectura
+    public List<MensajeInstitucional> vigentes() {
+        return actual.mensajes();
+    }
+
+    //Versión de la lista vigente (para detectar cambios sin comparar listas)
+    public long version() {
+        return actual.version();
+    }
+
+    //Registra una acción a ejecutar cada vez que cambia la lista vigente publicada
+    public void alCambiar(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    //Recarga la agenda cuando la transacción actual confirme
+    public void recargarAfterCommit() {
+        TransaccionUtil.afterCommit(this::recargar);
+    }
+
+    //Resincroniza con la BD (cambios hechos por otra instancia)
+    @Scheduled(fixedDelayString = "${mensajes.agenda.sincronizacion-ms:60000}",
+            initialDelayString = "${mensajes.agenda.sincronizacion-ms:60000}")
+    public void sincronizar() {
+        recargar();
+    }
+
+    //Lee los mensajes activos no vencidos y rearma la línea de tiempo
+    public synchronized void recargar() {
+        LocalDateTime ahora = ahora();
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        List<MensajeInstitucional> activos = template.execute(status ->
+                mensajeInstitucionalRepository.findActivosNoVencidos(ahora));
+
+        this.lineaDeTiempo = construirLineaDeTiempo(activos, ahora);
+        publicarTramo(ahora);
+
+        log.debug("Agenda de mensajes recargada - activos: {}, tramos: {}", activos.size(), lineaDeTiempo.size());
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Publica la lista del tramo vigente y programa el próximo cambio
+    private synchronized void publicarTramo(LocalDateTime ahora) {
+        Map.Entry<LocalDateTime, List<MensajeInstitucional>> tramo = lineaDeTiempo.floorEntry(ahora);
+        List<MensajeInstitucional> mensajes = tramo != null ? tramo.getValue() : List.of();
+        LocalDateTime siguiente = lineaDeTiempo.higherKey(ahora);
+
+        Tramo anterior = this.actual;
+        if (mismoContenido(anterior.mensajes(), mensajes)) {
+            this.actual = new Tramo(mensajes, anterior.version());
+        } else {
+            long nuevaVersion = version.incrementAndGet();
+            this.actual = new Tramo(mensajes, nuevaVersion);
+            notificarCambio();
+            log.info("Mensajes vigentes actualizados - cantidad: {}, versión: {}", mensajes.size(), nuevaVersion);
+        }
+
+        programarProximoCambio(siguiente);
+    }
+
+    private void notificarCambio() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Error notificando cambio de mensajes vigentes: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void programarProximoCambio(LocalDateTime siguiente) {
+        cancelarProximoCambio();
+        if (siguiente == null) {
+            return;
+        }
+        proximoCambio = taskScheduler.schedule(
+                () -> publicarTramo(ahora()),
+                siguiente.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void cancelarProximoCambio() {
+        if (proximoCambio != null) {
+            proximoCambio.cancel(false);
+            proximoCambio = null;
+        }
+    }
+
+    //Arma los tramos: instante de inicio -> mensajes vigentes desde ese instante hasta el siguiente
+    private NavigableMap<LocalDateTime, List<MensajeInstitucional>> construirLineaDeTiempo(
+            List<MensajeInstitucional> activos, LocalDateTime ahora) {
+
+        TreeSet<LocalDateTime> instantes = new TreeSet<>();
+        instantes.add(ahora);
+        for (MensajeInstitucional mensaje : activos) {
+            if (mensaje.getFechaInicio() != null && mensaje.getFechaInicio().isAfter(ahora)) {
+                instantes.add(mensaje.getFechaInicio());
+            }
+            if (mensaje.getFechaFin() != null) {
+                // fechaFin es inclusiva: deja de estar vigente en el instante siguiente
+                instantes.add(mensaje.getFechaFin().plusNanos(1));
+            }
+        }
+
+        NavigableMap<LocalDateTime, List<MensajeInstitucional>> tramos = new TreeMap<>();
+        for (LocalDateTime instante : instantes) {
+            List<MensajeInstitucional> vigentes = new ArrayList<>();
+            for (MensajeInstitucional mensaje : activos) {
+                if (vigenteEn(mensaje, instante)) {
+                    vigentes.add(mensaje);
+                }
+            }
+            tramos.put(instante, List.copyOf(vigentes));
+        }
+        return tramos;
+    }
+
+    //Mismo criterio que findMensajesVigentes
+    private static boolean vigenteEn(MensajeInstitucional mensaje, LocalDateTime instante) {
+        return (mensaje.getFechaInicio() == null || !mensaje.getFechaInicio().isAfter(instante)) &&
+                (mensaje.getFechaFin() == null || !mensaje.getFechaFin().isBefore(instante));
+    }
+
+    //Compara por identidad y última modificación (evita notificar a las pantallas sin cambios reales)
+    private static boolean mismoContenido(List<MensajeInstitucional> a, List<MensajeInstitucional> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            MensajeInstitucional x = a.get(i);
+            MensajeInstitucional y = b.get(i);
+            if (!Objects.equals(x.getId(), y.getId()) ||
+                    !Objects.equals(x.getFechaActualizacion(), y.getFechaActualizacion()) ||
+                    !Objects.equals(x.getRutaArchivoPantalla(), y.getRutaArchivoPantalla())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LocalDateTime ahora() {
+        return LocalDateTime.now();
+    }
+
+    //Lista publicada y su versión
+    private record Tramo(List<MensajeInstitucional> mensajes, long version) {
+    }
+}
@@ -0,0 +1,249 @@
+package queue_san_antonio.queues.services;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import queue_san_antonio.queues.config.BackblazeConfig;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Cliente Backblaze B2 compartido y thread-safe
+// - Un único WebClient sobre un pool de conexiones HTTP (keep-alive)
+// - Sesión (token, apiUrl, bucketId) inmutable; la renovación es single-flight
+// - Pool de upload URLs reutilizables: B2 permite reusar cada URL en forma secuencial
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BackblazeB2Client {
+
+    //El token de B2 dura 24h; se renueva antes por seguridad
+    private static final Duration VIGENCIA_SESION = Duration.ofHours(12);
+    private static final Duration MARGEN_RENOVACION = Duration.ofMinutes(5);
+    private static final Duration API_TIMEOUT = Duration.ofSeconds(30);
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final BackblazeConfig config;
+    private final WebClient.Builder webClientBuilder;
+
+    @Value("${b2.api-url:https://api.backblazeb2.com}")
+    private String b2ApiUrl;
+
+    @Value("${b2.pool.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${b2.pool.max-upload-urls:8}")
+    private int maxUploadUrls;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    private volatile Session session;
+    private final ReentrantLock authLock = new ReentrantLock();
+
+    private final Queue<UploadUrl> uploadUrls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger uploadUrlsDisponibles = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        this.connectionProvider = ConnectionProvider.builder("backblaze-b2")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .maxIdleTime(Duration.ofSeconds(60))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
+                .keepAlive(true);
+
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    //WebClient compartido (para uploads en streaming)
+    public WebClient webClient() {
+        return webClient;
+    }
+
+    //Sesión vigente; autentica si no existe o está por vencer
+    public Session session() throws IOException {
+        Session actual = this.session;
+        if (actual != null && !actual.porVencer()) {
+            return actual;
+        }
+
+        // Single-flight: un solo hilo autentica, el resto espera y reutiliza el resultado
+        authLock.lock();
+        try {
+            actual = this.session;
+            if (actual == null || actual.porVencer()) {
+                actual = authenticate();
+                this.session = actual;
+            }
+            return actual;
+        } finally {
+            authLock.unlock();
+        }
+    }
+
+    //Invalida la sesión si sigue siendo la indicada (ej. ante un 401 de B2)
+    public void invalidate(Session vencida) {
+        authLock.lock();
+        try {
+            if (this.session == vencida) {
+                this.session = null;
+                uploadUrls.clear();
+                uploadUrlsDisponibles.set(0);
+            }
+        } finally {
+            authLock.unlock();
+        }
+    }
+
+    //Llamada a la API JSON de B2 (b2_xxx); reintenta una vez si el token expiró
+    public Map<String, Object> callApi(String operation, Map<String, Object> body) throws IOException {
+        Session actual = session();
+        try {
+            return post(actual.apiUrl() + "/b2api/v2/" + operation, actual.authToken(), body);
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode() != HttpStatus.UNAUTHORIZED) {
+                throw new IOException("Error en " + operation + ": " + e.getResponseBodyAsString(), e);
+            }
+            log.info("Token de B2 rechazado en {}, reautenticando", operation);
+            invalidate(actual);
+            Session nueva = session();
+            return post(nueva.apiUrl() + "/b2api/v2/" + operation, nueva.authToken(), body);
+        }
+    }
+
+    //Obtiene una upload URL del pool o pide una nueva a B2
+    public UploadUrl acquireUploadUrl() throws IOException {
+        Session actual = session();
+
+        UploadUrl url;
+        while ((url = uploadUrls.poll()) != null) {
+            uploadUrlsDisponibles.decrementAndGet();
+            if (url.session() == actual) {
+                return url;
+            }
+        }
+
+        Map<String, Object> body = callApi("b2_get_upload_url", Map.of("bucketId", actual.bucketId()));
+        return new UploadUrl((String) body.get("uploadUrl"), (String) body.get("authorizationToken"), actual);
+    }
+
+    //Devuelve una upload URL usada con éxito al pool para reutilizarla
+    public void releaseUploadUrl(UploadUrl url) {
+        if (url.session() != this.session) {
+            return;
+        }
+        if (uploadUrlsDisponibles.incrementAndGet() <= maxUploadUrls) {
+            uploadUrls.offer(url);
+        } else {
+            uploadUrlsDisponibles.decrementAndGet();
+        }
+    }
+
+    //Descarta una upload URL tras un error (B2 pide solicitar otra)
+    public void discardUploadUrl(UploadUrl url) {
+        log.debug("Descartando upload URL de B2 tras error");
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private Session authenticate() throws IOException {
+        log.info("Autenticando con Backblaze B2...");
+
+        String credenciales = Base64.getEncoder().encodeToString(
+                (config.getApplicationKeyId() + ":" + config.getApplicationKey()).getBytes(StandardCharsets.UTF_8));
+
+        try {
+            Map<String, Object> auth = webClient.get()
+                    .uri(b2ApiUrl + "/b2api/v2/b2_authorize_account")
+                    .header("Authorization", "Basic " + credenciales)
+                    .retrieve()
+                    .bodyToMono(MAP_TYPE)
+                    .block(API_TIMEOUT);
+
+            String authToken = (String) auth.get("authorizationToken");
+            String apiUrl = (String) auth.get("apiUrl");
+            String downloadUrl = (String) auth.get("downloadUrl");
+            String accountId = (String) auth.get("accountId");
+
+            Map<String, Object> buckets = post(apiUrl + "/b2api/v2/b2_list_buckets", authToken,
+                    Map.of("accountId", accountId, "bucketName", config.getBucketName()));
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> lista = (List<Map<String, Object>>) buckets.get("buckets");
+            String bucketId = lista == null ? null : lista.stream()
+                    .filter(b -> config.getBucketName().equals(b.get("bucketName")))
+                    .map(b -> (String) b.get("bucketId"))
+                    .findFirst()
+                    .orElse(null);
+
+            if (bucketId == null) {
+                throw new IOException("Bucket no encontrado: " + config.getBucketName());
+            }
+
+            log.info("Autenticación con B2 exitosa. Bucket ID: {}", bucketId);
+            return new Session(authToken, apiUrl, downloadUrl, bucketId, Instant.now().plus(VIGENCIA_SESION));
+
+        } catch (WebClientResponseException e) {
+            throw new IOException("Error autenticando con B2: " + e.getResponseBodyAsString(), e);
+        }
+    }
+
+    private Map<String, Object> post(String url, String authorization, Map<String, Object> body) {
+        return webClient.post()
+                .uri(url)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(MAP_TYPE)
+                .block(API_TIMEOUT);
+    }
+
+    //Datos de autenticación vigentes (inmutables)
+    public record Session(String authToken, String apiUrl, String downloadUrl, String bucketId, Instant expiresAt) {
+        boolean porVencer() {
+            return Instant.now().isAfter(expiresAt.minus(MARGEN_RENOVACION));
+        }
+    }
+
+    //Upload URL + token asociado, válidos mientras dure la sesión que los emitió
+    public record UploadUrl(String uploadUrl, String authorizationToken, Session session) {
+    }
+}
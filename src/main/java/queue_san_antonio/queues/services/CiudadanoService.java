@@ -1,5 +1,6 @@
 package queue_san_antonio.queues.services;
 
+import org.springframework.data.domain.Page;
 import queue_san_antonio.queues.models.Ciudadano;
 
 import java.util.List;
@@ -12,6 +13,7 @@ public interface CiudadanoService {
     Optional<Ciudadano> buscarPorId(Long id);
     Optional<Ciudadano> buscarPorDni(String dni);
     List<Ciudadano> listarTodos();
+    Page<Object[]> listarPaginadoConResumenTurnos(int limite, int offset);
 
     // Búsquedas para formulario de turno
     List<Ciudadano> buscarPorDniOApellido(String dni, String apellido);
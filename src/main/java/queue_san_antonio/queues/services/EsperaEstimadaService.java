@@ -0,0 +1,265 @@
+package queue_san_antonio.queues.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.services.realtime.SseTurnosService;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Estimador en línea del tiempo de espera por sector (en memoria, sin consultas a turnos)
+// - Tiempo de atención: promedio móvil exponencial (EWMA) por empleado con la duración
+//   iniciarAtencion -> finalizarAtencion
+// - Capacidad del sector: suma de 1/EWMA de los empleados con actividad reciente, mantenida
+//   en forma incremental (cada evento es O(1); un barrido periódico descarta a los inactivos)
+// - Prioridad: un turno sin prioridad espera además a los prioritarios que lleguen mientras tanto
+//   (EWMA del intervalo entre llegadas con prioridad)
+//Sin muestras se usa el tiempo estimado configurado en el sector
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EsperaEstimadaService {
+
+    public static final String EVENTO_ESPERA = "espera_estimada";
+
+    //Duraciones fuera de este rango se recortan (atenciones olvidadas abiertas, clics dobles)
+    private static final double ATENCION_MINIMA_SEG = 10;
+    private static final double ATENCION_MAXIMA_SEG = 2 * 3600;
+    private static final double INTERVALO_MAXIMO_SEG = 2 * 3600;
+    //Tope de la corrección por prioritarios (evita esperas infinitas si llegan más de los que se atienden)
+    private static final double CARGA_PRIORITARIA_MAXIMA = 0.8;
+
+    private final SseTurnosService sseTurnosService;
+
+    //Peso de la última muestra en los promedios (0-1)
+    @Value("${turnos.espera.alfa:0.2}")
+    private double alfa;
+
+    //Un empleado cuenta para la capacidad del sector si atendió dentro de esta ventana
+    @Value("${turnos.espera.ventana-actividad-min:30}")
+    private long ventanaActividadMin;
+
+    private final Map<Long, EstimadorSector> sectores = new ConcurrentHashMap<>();
+
+    //Registra una llegada a la cola (generación o redirección) cuando la transacción confirme
+    public void registrarLlegada(Turno turno) {
+        if (!turno.esPrioritario()) {
+            return;
+        }
+        Long sectorId = turno.getSector().getId();
+        TransaccionUtil.afterCommit(() -> estimador(sectorId).llegadaPrioritaria(System.currentTimeMillis(), alfa));
+    }
+
+    //Registra que el empleado está atendiendo (cuenta para la capacidad aunque aún no tenga muestras)
+    public void registrarInicioAtencion(Turno turno) {
+        if (turno.getEmpleadoAtencion() == null) {
+            return;
+        }
+        Long sectorId = turno.getSector().getId();
+        Long empleadoId = turno.getEmpleadoAtencion().getId();
+        TransaccionUtil.afterCommit(() -> estimador(sectorId).actividad(empleadoId, System.currentTimeMillis()));
+    }
+
+    //Registra la duración de una atención finalizada
+    public void registrarFinAtencion(Turno turno) {
+        if (turno.getEmpleadoAtencion() == null || turno.getFechaHoraAtencion() == null ||
+                turno.getFechaHoraFinalizacion() == null) {
+            return;
+        }
+        Long sectorId = turno.getSector().getId();
+        Long empleadoId = turno.getEmpleadoAtencion().getId();
+        double segundos = Duration.between(turno.getFechaHoraAtencion(), turno.getFechaHoraFinalizacion()).toMillis() / 1000.0;
+        double acotado = Math.min(ATENCION_MAXIMA_SEG, Math.max(ATENCION_MINIMA_SEG, segundos));
+
+        TransaccionUtil.afterCommit(() -> estimador(sectorId).atencion(empleadoId, acotado, System.currentTimeMillis(), alfa));
+    }
+
+    //Minutos estimados hasta el llamado para un turno con turnosAntes por delante
+    //El siguiente se llama cuando termina cualquier atención en curso: (turnosAntes + 1) intervalos entre llamados
+    public Integer estimarMinutos(Sector sector, int turnosAntes, boolean prioritario) {
+        if (sector == null) {
+            return null;
+        }
+        double segundos = estimarSegundos(sector, turnosAntes, prioritario);
+        return Double.isNaN(segundos) ? null : (int) Math.ceil(segundos / 60.0);
+    }
+
+    //Publica por SSE del sector la espera estimada de la cola actual si cambió desde la última publicación
+    public void publicar(Sector sector, int enEspera) {
+        if (sector == null) {
+            return;
+        }
+        EstimadorSector estimador = estimador(sector.getId());
+        double segundosPorTurno = segundosPorTurno(sector, estimador);
+        Integer minutosPorTurno = Double.isNaN(segundosPorTurno) ? null : (int) Math.ceil(segundosPorTurno / 60.0);
+        Integer esperaUltimo = enEspera > 0 ? estimarMinutos(sector, enEspera - 1, false) : Integer.valueOf(0);
+
+        if (!estimador.cambioPublicado(enEspera, minutosPorTurno, esperaUltimo)) {
+            return;
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sectorId", sector.getId());
+        payload.put("enEspera", enEspera);
+        payload.put("minutosPorTurno", minutosPorTurno);
+        payload.put("esperaEstimadaUltimoMinutos", esperaUltimo);
+        payload.put("empleadosActivos", estimador.empleadosActivos());
+        payload.put("ts", Instant.now().toString());
+        sseTurnosService.notifySector(sector.getId(), EVENTO_ESPERA, payload);
+    }
+
+    //Descarta de la capacidad a los empleados sin actividad reciente y corrige el redondeo acumulado
+    @Scheduled(fixedDelayString = "${turnos.espera.barrido-ms:60000}",
+            initialDelayString = "${turnos.espera.barrido-ms:60000}")
+    public void barrer() {
+        long limite = System.currentTimeMillis() - ventanaActividadMin * 60_000;
+        sectores.values().forEach(estimador -> estimador.barrer(limite));
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private double estimarSegundos(Sector sector, int turnosAntes, boolean prioritario) {
+        EstimadorSector estimador = estimador(sector.getId());
+        double segundosPorTurno = segundosPorTurno(sector, estimador);
+        if (Double.isNaN(segundosPorTurno)) {
+            return Double.NaN;
+        }
+
+        double espera = (turnosAntes + 1) * segundosPorTurno;
+        if (!prioritario) {
+            // Fracción de la capacidad que consumen los prioritarios que se adelantan
+            double carga = Math.min(CARGA_PRIORITARIA_MAXIMA, segundosPorTurno / estimador.intervaloPrioritarios());
+            espera = espera / (1 - carga);
+        }
+        return espera;
+    }
+
+    //Segundos entre llamados: capacidad medida, o promedio del sector / tiempo configurado repartido entre empleados
+    private static double segundosPorTurno(Sector sector, EstimadorSector estimador) {
+        double medido = estimador.segundosPorTurno();
+        if (!Double.isNaN(medido)) {
+            return medido;
+        }
+        int empleados = Math.max(1, sector.getCantidadEmpleadosActivos());
+        double promedio = estimador.promedioSector();
+        if (!Double.isNaN(promedio)) {
+            return promedio / empleados;
+        }
+        return sector.getTiempoEstimadoAtencion() != null
+                ? sector.getTiempoEstimadoAtencion() * 60.0 / empleados : Double.NaN;
+    }
+
+    private EstimadorSector estimador(Long sectorId) {
+        return sectores.computeIfAbsent(sectorId, id -> new EstimadorSector());
+    }
+
+    private static double ewma(double actual, double muestra, double alfa) {
+        return Double.isNaN(actual) ? muestra : actual + alfa * (muestra - actual);
+    }
+
+    //Estado de un sector; los métodos sincronizados son O(1) salvo el barrido
+    private static final class EstimadorSector {
+        private final Map<Long, Actividad> empleados = new HashMap<>();
+        private double promedioSector = Double.NaN;     // EWMA de todas las atenciones del sector
+        private double capacidad;                       // atenciones por segundo (suma de 1/EWMA)
+        private int activos;
+        private double intervaloPrioritarios = Double.NaN;
+        private long ultimaLlegadaPrioritaria;
+        private String ultimoPublicado;
+
+        synchronized void atencion(Long empleadoId, double segundos, long ahora, double alfa) {
+            promedioSector = ewma(promedioSector, segundos, alfa);
+
+            Actividad actividad = empleados.computeIfAbsent(empleadoId, id -> new Actividad());
+            actividad.promedio = ewma(actividad.promedio, segundos, alfa);
+            actividad.ultimaActividad = ahora;
+            aportar(actividad, 1.0 / actividad.promedio);
+        }
+
+        synchronized void actividad(Long empleadoId, long ahora) {
+            Actividad actividad = empleados.computeIfAbsent(empleadoId, id -> new Actividad());
+            actividad.ultimaActividad = ahora;
+            if (actividad.aporte == 0) {
+                double promedio = !Double.isNaN(actividad.promedio) ? actividad.promedio : promedioSector;
+                if (!Double.isNaN(promedio)) {
+                    aportar(actividad, 1.0 / promedio);
+                }
+            }
+        }
+
+        synchronized void llegadaPrioritaria(long ahora, double alfa) {
+            if (ultimaLlegadaPrioritaria > 0) {
+                double intervalo = Math.min(INTERVALO_MAXIMO_SEG, (ahora - ultimaLlegadaPrioritaria) / 1000.0);
+                intervaloPrioritarios = ewma(intervaloPrioritarios, Math.max(1, intervalo), alfa);
+            }
+            ultimaLlegadaPrioritaria = ahora;
+        }
+
+        synchronized void barrer(long limite) {
+            capacidad = 0;
+            activos = 0;
+            for (Actividad actividad : empleados.values()) {
+                actividad.aporte = 0;
+                if (actividad.ultimaActividad >= limite) {
+                    double promedio = !Double.isNaN(actividad.promedio) ? actividad.promedio : promedioSector;
+                    if (!Double.isNaN(promedio)) {
+                        aportar(actividad, 1.0 / promedio);
+                    }
+                }
+            }
+        }
+
+        synchronized double segundosPorTurno() {
+            return capacidad > 0 ? 1.0 / capacidad : Double.NaN;
+        }
+
+        synchronized double promedioSector() {
+            return promedioSector;
+        }
+
+        //Sin llegadas prioritarias registradas la corrección es nula
+        synchronized double intervaloPrioritarios() {
+            return Double.isNaN(intervaloPrioritarios) ? Double.POSITIVE_INFINITY : intervaloPrioritarios;
+        }
+
+        synchronized int empleadosActivos() {
+            return activos;
+        }
+
+        //true si los valores difieren de la última publicación (y los registra como publicados)
+        synchronized boolean cambioPublicado(int enEspera, Integer minutosPorTurno, Integer esperaUltimo) {
+            String valores = enEspera + "/" + minutosPorTurno + "/" + esperaUltimo;
+            if (valores.equals(ultimoPublicado)) {
+                return false;
+            }
+            ultimoPublicado = valores;
+            return true;
+        }
+
+        private void aportar(Actividad actividad, double nuevoAporte) {
+            if (actividad.aporte == 0) {
+                activos++;
+            }
+            capacidad += nuevoAporte - actividad.aporte;
+            actividad.aporte = nuevoAporte;
+        }
+    }
+
+    //Promedio y última actividad de un empleado en el sector
+    private static final class Actividad {
+        private double promedio = Double.NaN;
+        private long ultimaActividad;
+        private double aporte; // 1/promedio si cuenta para la capacidad, 0 si no
+    }
+}
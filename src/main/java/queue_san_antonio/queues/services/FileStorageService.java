@@ -208,20 +208,38 @@
 
 package queue_san_antonio.queues.services;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
 import queue_san_antonio.queues.config.BackblazeConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -230,210 +248,208 @@ import java.util.UUID;
 @Slf4j
 public class FileStorageService {
 
-    private final BackblazeConfig config;
-
-    @Value("${b2.api-url:https://api.backblazeb2.com}")
-    private String b2ApiUrl;
+    //Tamaño del buffer de lectura: el heap por upload queda acotado a esto
+    private static final int BUFFER_SIZE = 64 * 1024;
+    //B2 exige partes de al menos 5MB (salvo la última)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    //Largo del SHA-1 en hex que se envía al final del body ("hex_digits_at_end")
+    private static final int SHA1_HEX_LENGTH = 40;
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofMinutes(5);
 
-    private String authToken;
-    private String apiUrl;
-    private String downloadUrl;
-    private String bucketId;
-    private String accountId; // Agregar esta variable
-    private LocalDateTime tokenExpiry;
+    private final BackblazeConfig config;
+    private final BackblazeB2Client b2Client;
 
-    public String uploadFile(MultipartFile file, String folder) throws IOException {
-        try {
-            log.info("Iniciando upload de archivo: {} en folder: {}", file.getOriginalFilename(), folder);
+    //A partir de este tamaño se usa la API de large files (upload por partes)
+    @Value("${b2.large-file-threshold-bytes:20971520}")
+    private long largeFileThreshold;
 
-            if (needsAuthentication()) {
-                log.info("Necesita autenticación, autenticando...");
-                authenticate();
-            }
+    @Value("${b2.part-size-bytes:10485760}")
+    private long partSize;
 
-            UploadUrlInfo uploadInfo = getUploadUrl();
-            String fileName = generateUniqueFileName(file.getOriginalFilename(), folder);
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
 
-            // Calcular SHA1 del archivo
-            String sha1Hash = calculateSHA1(file.getBytes());
+    @PostConstruct
+    void init() {
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", uploadInfo.getAuthorizationToken());
-            headers.set("X-Bz-File-Name", fileName);
-            headers.set("Content-Type", file.getContentType());
-            headers.set("X-Bz-Content-Sha1", sha1Hash);
+    //Sube el archivo leyendo en streaming desde el archivo temporal del multipart
+    //El SHA-1 se calcula mientras se envía y va al final del body (sin copiar el archivo al heap)
+    public String uploadFile(MultipartFile file, String folder) throws IOException {
+        return upload(file, file.getSize(), file.getOriginalFilename(), file.getContentType(), folder);
+    }
 
-            HttpEntity<byte[]> entity = new HttpEntity<>(file.getBytes(), headers);
-            RestTemplate restTemplate = new RestTemplate();
+    //Sube un archivo local (ej. renditions generadas en el servidor)
+    public String uploadFile(Path archivo, String originalName, String contentType, String folder) throws IOException {
+        return upload(new FileSystemResource(archivo), Files.size(archivo), originalName, contentType, folder);
+    }
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    uploadInfo.getUploadUrl(),
-                    entity,
-                    Map.class
-            );
+    private String upload(InputStreamSource source, long size, String originalName,
+                          String contentType, String folder) throws IOException {
+        try {
+            log.info("Iniciando upload de archivo: {} en folder: {}", originalName, folder);
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String publicUrl = String.format("%s/file/%s/%s",
-                        downloadUrl, config.getBucketName(), fileName);
+            String fileName = generateUniqueFileName(originalName, folder);
+            String tipo = contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
-                log.info("Archivo subido exitosamente: {} -> {}", file.getOriginalFilename(), publicUrl);
-                return publicUrl;
+            if (size > Math.max(largeFileThreshold, partSize)) {
+                uploadLargeFile(source, size, fileName, tipo);
             } else {
-                log.error("Error en upload response: {}", response.getBody());
-                throw new IOException("Error en upload: " + response.getBody());
+                uploadSmallFile(source, size, fileName, tipo);
             }
 
+            String publicUrl = String.format("%s/file/%s/%s",
+                    b2Client.session().downloadUrl(), config.getBucketName(), fileName);
+
+            log.info("Archivo subido exitosamente: {} -> {}", originalName, publicUrl);
+            return publicUrl;
+
         } catch (Exception e) {
             log.error("Error subiendo archivo: {}", e.getMessage(), e);
             throw new IOException("Error al subir archivo: " + e.getMessage());
         }
     }
 
-    public void deleteFile(String fileUrl) {
-        // Implementación para eliminar archivo
-        log.info("Eliminando archivo: {}", fileUrl);
-    }
+    //Upload en un solo request (b2_upload_file)
+    private void uploadSmallFile(InputStreamSource source, long size, String fileName, String contentType) throws IOException {
+        BackblazeB2Client.UploadUrl uploadUrl = b2Client.acquireUploadUrl();
+
+        try (InputStream in = source.getInputStream()) {
+            b2Client.webClient().post()
+                    .uri(uploadUrl.uploadUrl())
+                    .header("Authorization", uploadUrl.authorizationToken())
+                    .header("X-Bz-File-Name", fileName)
+                    .header("X-Bz-Content-Sha1", "hex_digits_at_end")
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .contentLength(size + SHA1_HEX_LENGTH)
+                    .body(BodyInserters.fromDataBuffers(streamWithTrailingSha1(in)))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block(UPLOAD_TIMEOUT);
+
+            // Upload exitoso: la URL queda libre para el próximo archivo
+            b2Client.releaseUploadUrl(uploadUrl);
 
-    private boolean needsAuthentication() {
-        boolean needs = authToken == null || tokenExpiry == null ||
-                LocalDateTime.now().isAfter(tokenExpiry.minusMinutes(5));
-        log.debug("¿Necesita autenticación? {}", needs);
-        return needs;
+        } catch (Exception e) {
+            b2Client.discardUploadUrl(uploadUrl);
+            throw e;
+        }
     }
 
-    private void authenticate() throws IOException {
-        try {
-            log.info("Autenticando con Backblaze B2...");
-            log.debug("Using keyId: {}", config.getApplicationKeyId());
-            log.debug("Bucket name: {}", config.getBucketName());
-
-            String auth = Base64.getEncoder()
-                    .encodeToString((config.getApplicationKeyId() + ":" + config.getApplicationKey())
-                            .getBytes());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Basic " + auth);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            RestTemplate restTemplate = new RestTemplate();
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    b2ApiUrl + "/b2api/v2/b2_authorize_account",
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                Map<String, Object> body = response.getBody();
-                this.authToken = (String) body.get("authorizationToken");
-                this.apiUrl = (String) body.get("apiUrl");
-                this.downloadUrl = (String) body.get("downloadUrl");
-                this.accountId = (String) body.get("accountId"); // Obtener accountId de la respuesta
-                this.tokenExpiry = LocalDateTime.now().plusHours(12);
-
-                log.info("Autenticación exitosa. AccountId: {}", accountId);
-
-                // Obtener bucket ID
-                getBucketId();
-            } else {
-                log.error("Error de autenticación: {}", response.getBody());
-                throw new IOException("Error de autenticación: " + response.getBody());
+    //Upload por partes (b2_start_large_file / b2_upload_part / b2_finish_large_file)
+    private void uploadLargeFile(InputStreamSource source, long size, String fileName, String contentType) throws IOException {
+        Map<String, Object> started = b2Client.callApi("b2_start_large_file",
+                Map.of("bucketId", b2Client.session().bucketId(), "fileName", fileName, "contentType", contentType));
+        String fileId = (String) started.get("fileId");
+
+        log.info("Upload por partes iniciado: {} ({} bytes, partes de {} bytes)", fileName, size, partSize);
+
+        try (InputStream in = source.getInputStream()) {
+            Map<String, Object> partUrl = b2Client.callApi("b2_get_upload_part_url", Map.of("fileId", fileId));
+            String uploadUrl = (String) partUrl.get("uploadUrl");
+            String uploadToken = (String) partUrl.get("authorizationToken");
+
+            List<String> partSha1s = new ArrayList<>();
+            long remaining = size;
+            int partNumber = 1;
+
+            while (remaining > 0) {
+                long length = Math.min(partSize, remaining);
+                MessageDigest sha1 = newSha1();
+                InputStream part = new DigestInputStream(new PartInputStream(in, length), sha1);
+
+                b2Client.webClient().post()
+                        .uri(uploadUrl)
+                        .header("Authorization", uploadToken)
+                        .header("X-Bz-Part-Number", String.valueOf(partNumber))
+                        .header("X-Bz-Content-Sha1", "hex_digits_at_end")
+                        .contentLength(length + SHA1_HEX_LENGTH)
+                        .body(BodyInserters.fromDataBuffers(withTrailingSha1(part, sha1)))
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block(UPLOAD_TIMEOUT);
+
+                partSha1s.add(HexFormat.of().formatHex(sha1.digest()));
+                remaining -= length;
+                partNumber++;
             }
 
+            b2Client.callApi("b2_finish_large_file", Map.of("fileId", fileId, "partSha1Array", partSha1s));
+
         } catch (Exception e) {
-            log.error("Error autenticando con B2", e);
-            throw new IOException("Error autenticando con B2: " + e.getMessage());
+            log.warn("Cancelando upload por partes {}: {}", fileName, e.getMessage());
+            try {
+                b2Client.callApi("b2_cancel_large_file", Map.of("fileId", fileId));
+            } catch (Exception cancelError) {
+                log.error("No se pudo cancelar el large file {}: {}", fileId, cancelError.getMessage());
+            }
+            throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
         }
     }
 
-    private void getBucketId() throws IOException {
-        try {
-            log.info("Obteniendo bucket ID para: {}", config.getBucketName());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authToken);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            // CORREGIDO: Usar accountId de la respuesta de autenticación
-            String requestBody = "{\"accountId\":\"" + accountId + "\"}";
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    apiUrl + "/b2api/v2/b2_list_buckets",
-                    entity,
-                    Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                Map<String, Object> body = response.getBody();
-                @SuppressWarnings("unchecked")
-                java.util.List<Map<String, Object>> buckets =
-                        (java.util.List<Map<String, Object>>) body.get("buckets");
-
-                log.debug("Buckets encontrados: {}", buckets.size());
-
-                for (Map<String, Object> bucket : buckets) {
-                    String bucketName = (String) bucket.get("bucketName");
-                    log.debug("Evaluando bucket: {}", bucketName);
-
-                    if (config.getBucketName().equals(bucketName)) {
-                        this.bucketId = (String) bucket.get("bucketId");
-                        log.info("Bucket encontrado. ID: {}", bucketId);
-                        return;
-                    }
-                }
+    //Body en streaming: contenido del archivo seguido por su SHA-1 en hex
+    private Flux<DataBuffer> streamWithTrailingSha1(InputStream in) throws IOException {
+        MessageDigest sha1 = newSha1();
+        return withTrailingSha1(new DigestInputStream(in, sha1), sha1);
+    }
 
-                // Si llegamos aquí, no se encontró el bucket
-                log.error("Bucket '{}' no encontrado. Buckets disponibles:", config.getBucketName());
-                for (Map<String, Object> bucket : buckets) {
-                    log.error("  - {}", bucket.get("bucketName"));
-                }
-                throw new IOException("Bucket no encontrado: " + config.getBucketName());
+    private Flux<DataBuffer> withTrailingSha1(InputStream digestStream, MessageDigest sha1) {
+        // El digest se lee recién cuando terminó de leerse el contenido (concat es secuencial).
+        // La lectura del InputStream es bloqueante: no debe correr en el event loop de Netty
+        return Flux.concat(
+                DataBufferUtils.readInputStream(() -> digestStream, bufferFactory, BUFFER_SIZE)
+                        .subscribeOn(Schedulers.boundedElastic()),
+                Mono.fromSupplier(() -> {
+                    MessageDigest copia = cloneDigest(sha1);
+                    return bufferFactory.wrap(HexFormat.of().formatHex(copia.digest())
+                            .getBytes(StandardCharsets.US_ASCII));
+                })
+        );
+    }
 
-            } else {
-                log.error("Error obteniendo buckets: {}", response.getBody());
-                throw new IOException("Error obteniendo buckets: " + response.getBody());
+    //Elimina el archivo de B2 con todas sus versiones (b2_list_file_versions + b2_delete_file_version)
+    //Recibe la URL pública que devuelve uploadFile: {downloadUrl}/file/{bucket}/{fileName}
+    public void deleteFile(String fileUrl) throws IOException {
+        String fileName = extractFileName(fileUrl);
+        log.info("Eliminando archivo: {}", fileName);
+
+        Map<String, Object> listado = b2Client.callApi("b2_list_file_versions", Map.of(
+                "bucketId", b2Client.session().bucketId(),
+                "startFileName", fileName,
+                "prefix", fileName,
+                "maxFileCount", 100));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> versiones = (List<Map<String, Object>>) listado.get("files");
+        int eliminadas = 0;
+        if (versiones != null) {
+            for (Map<String, Object> version : versiones) {
+                // El prefijo también trae archivos más largos con el mismo comienzo; uploads sin terminar no se tocan
+                if (!fileName.equals(version.get("fileName")) || "start".equals(version.get("action"))) {
+                    continue;
+                }
+                b2Client.callApi("b2_delete_file_version", Map.of(
+                        "fileName", fileName,
+                        "fileId", version.get("fileId")));
+                eliminadas++;
             }
-        } catch (Exception e) {
-            log.error("Error en getBucketId", e);
-            throw new IOException("Error obteniendo bucket ID: " + e.getMessage());
+        }
+
+        if (eliminadas == 0) {
+            log.warn("No se encontraron versiones para eliminar del archivo: {}", fileName);
+        } else {
+            log.info("Archivo eliminado: {} ({} versiones)", fileName, eliminadas);
         }
     }
 
-    private UploadUrlInfo getUploadUrl() throws IOException {
-        try {
-            log.debug("Obteniendo upload URL para bucket: {}", bucketId);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authToken);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            String requestBody = "{\"bucketId\":\"" + bucketId + "\"}";
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    apiUrl + "/b2api/v2/b2_get_upload_url",
-                    entity,
-                    Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                Map<String, Object> body = response.getBody();
-                return new UploadUrlInfo(
-                        (String) body.get("uploadUrl"),
-                        (String) body.get("authorizationToken")
-                );
-            } else {
-                log.error("Error obteniendo upload URL: {}", response.getBody());
-                throw new IOException("Error obteniendo upload URL: " + response.getBody());
-            }
-        } catch (Exception e) {
-            log.error("Error en getUploadUrl", e);
-            throw new IOException("Error obteniendo upload URL: " + e.getMessage());
+    //Nombre del archivo dentro del bucket a partir de su URL pública
+    private String extractFileName(String fileUrl) {
+        String marcador = "/file/" + config.getBucketName() + "/";
+        int inicio = fileUrl != null ? fileUrl.indexOf(marcador) : -1;
+        if (inicio < 0 || inicio + marcador.length() >= fileUrl.length()) {
+            throw new IllegalArgumentException("La URL no corresponde a un archivo del bucket: " + fileUrl);
         }
+        return fileUrl.substring(inicio + marcador.length());
     }
 
     private String generateUniqueFileName(String originalName, String folder) {
@@ -450,34 +466,50 @@ public class FileStorageService {
         return lastDot > 0 ? fileName.substring(lastDot) : "";
     }
 
-    private String calculateSHA1(byte[] data) throws IOException {
+    private MessageDigest newSha1() throws IOException {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            byte[] hash = digest.digest(data);
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw new IOException("SHA-1 algorithm not available", e);
         }
     }
 
-    private static class UploadUrlInfo {
-        private final String uploadUrl;
-        private final String authorizationToken;
+    private MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-1 no clonable", e);
+        }
+    }
+
+    //Vista acotada de una parte del stream compartido; no cierra el stream original
+    private static class PartInputStream extends FilterInputStream {
+        private long remaining;
 
-        public UploadUrlInfo(String uploadUrl, String authorizationToken) {
-            this.uploadUrl = uploadUrl;
-            this.authorizationToken = authorizationToken;
+        PartInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
         }
 
-        public String getUploadUrl() { return uploadUrl; }
-        public String getAuthorizationToken() { return authorizationToken; }
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // El stream del archivo se cierra al terminar todas las partes
+        }
     }
 }
\ No newline at end of file
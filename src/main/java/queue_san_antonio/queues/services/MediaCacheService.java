@@ -0,0 +1,421 @@
+package queue_san_antonio.queues.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import queue_san_antonio.queues.config.BackblazeConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+//Cache local de archivos multimedia para las pantallas
+// - Almacenamiento en disco direccionado por contenido (SHA-256 -> <hash>.bin + <hash>.meta)
+// - Índice nombre de archivo en el bucket -> hash, con expulsión LRU al superar el tamaño máximo
+//   (la clave nunca es el string del cliente: variantes de la misma URL no generan descargas nuevas)
+// - Lecturas mediante archivos mapeados en memoria (sin copiar al heap)
+// - Descarga desde B2 en caso de miss, una sola vez por archivo aunque haya pedidos concurrentes
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaCacheService {
+
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofMinutes(5);
+
+    private final BackblazeConfig config;
+    private final BackblazeB2Client b2Client;
+
+    @Value("${media.cache.dir:${java.io.tmpdir}/turnos-media-cache}")
+    private String cacheDir;
+
+    @Value("${media.cache.max-bytes:2147483648}")
+    private long maxBytes;
+
+    private Path directorio;
+
+    //hash -> entrada, en orden de acceso (LRU); protegido por el lock del propio mapa
+    private final LinkedHashMap<String, CachedMedia> porHash = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, String> hashPorArchivo = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedMedia>> descargasEnCurso = new ConcurrentHashMap<>();
+    private long bytesTotales;
+
+    @PostConstruct
+    void init() throws IOException {
+        this.directorio = Paths.get(cacheDir);
+        Files.createDirectories(directorio);
+
+        // Reconstruir el índice desde disco (más antiguos primero para respetar el orden LRU)
+        List<Path> metas;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            metas = archivos.filter(p -> p.getFileName().toString().endsWith(".meta"))
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .toList();
+        }
+
+        for (Path meta : metas) {
+            try {
+                Properties props = new Properties();
+                try (InputStream in = Files.newInputStream(meta)) {
+                    props.load(in);
+                }
+                String hash = meta.getFileName().toString().replace(".meta", "");
+                Path contenido = directorio.resolve(hash + ".bin");
+                if (!Files.exists(contenido)) {
+                    Files.deleteIfExists(meta);
+                    continue;
+                }
+                registrar(new CachedMedia(hash, props.getProperty("url"),
+                        props.getProperty("contentType"), contenido, Files.size(contenido)));
+            } catch (IOException e) {
+                log.warn("Entrada de cache de media inválida {}: {}", meta, e.getMessage());
+            }
+        }
+
+        log.info("Cache de media en {}: {} archivos, {} bytes", directorio, porHash.size(), bytesTotales);
+    }
+
+    //Devuelve el archivo cacheado para la URL, descargándolo de B2 si no está
+    public Optional<CachedMedia> obtener(String url) throws IOException {
+        String archivo = nombreArchivo(url);
+        if (archivo == null) {
+            return Optional.empty();
+        }
+
+        CachedMedia cached = buscarPorArchivo(archivo);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Single-flight por archivo: los pedidos concurrentes esperan la misma descarga
+        CompletableFuture<CachedMedia> nueva = new CompletableFuture<>();
+        CompletableFuture<CachedMedia> enCurso = descargasEnCurso.putIfAbsent(archivo, nueva);
+        if (enCurso != null) {
+            return Optional.of(enCurso.join());
+        }
+
+        try {
+            CachedMedia descargada = descargar(url);
+            nueva.complete(descargada);
+            return Optional.of(descargada);
+        } catch (IOException | RuntimeException e) {
+            nueva.completeExceptionally(e);
+            throw e;
+        } finally {
+            descargasEnCurso.remove(archivo);
+        }
+    }
+
+    //Precarga un archivo recién subido (se copia desde el archivo temporal del upload)
+    public void precargar(String url, String contentType, InputStream contenido) {
+        try (InputStream in = contenido) {
+            guardar(url, contentType, out -> in.transferTo(out));
+            log.debug("Media precargada en cache: {}", url);
+        } catch (IOException e) {
+            log.warn("No se pudo precargar media {}: {}", url, e.getMessage());
+        }
+    }
+
+    //Solo se cachean archivos del bucket propio (evita usar el proxy contra hosts arbitrarios)
+    public boolean esUrlPermitida(String url) {
+        return nombreArchivo(url) != null;
+    }
+
+    //Nombre normalizado del archivo dentro del bucket, o null si la URL no es un archivo del bucket
+    //Se rechazan query y fragmento: ?x=1, ?x=2... apuntarían al mismo archivo con otra clave
+    private String nombreArchivo(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(url.trim());
+            String prefijo = "/file/" + config.getBucketName() + "/";
+            String path = uri.getPath();
+            if (!"https".equalsIgnoreCase(uri.getScheme())
+                    || uri.getHost() == null
+                    || !uri.getHost().endsWith(".backblazeb2.com")
+                    || uri.getRawQuery() != null
+                    || uri.getRawFragment() != null
+                    || path == null
+                    || !path.startsWith(prefijo)
+                    || path.length() == prefijo.length()
+                    || path.contains("..")
+                    || path.contains("//")) {
+                return null;
+            }
+            return path.substring(prefijo.length());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private CachedMedia buscarPorArchivo(String archivo) {
+        String hash = hashPorArchivo.get(archivo);
+        if (hash == null) {
+            return null;
+        }
+        synchronized (porHash) {
+            return porHash.get(hash); // get() actualiza el orden LRU
+        }
+    }
+
+    private CachedMedia descargar(String url) throws IOException {
+        log.debug("Descargando media para cache: {}", url);
+        String[] contentType = new String[1];
+
+        return guardar(url, null, out -> {
+            var response = b2Client.webClient().get()
+                    .uri(URI.create(url))
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .block(DOWNLOAD_TIMEOUT);
+
+            if (response == null || response.getBody() == null) {
+                throw new IOException("Respuesta vacía descargando " + url);
+            }
+            if (response.getHeaders().getContentType() != null) {
+                contentType[0] = response.getHeaders().getContentType().toString();
+            }
+
+            DataBufferUtils.write(response.getBody(), out)
+                    .map(DataBufferUtils::release)
+                    .then()
+                    .block(DOWNLOAD_TIMEOUT);
+        }, () -> contentType[0]);
+    }
+
+    private CachedMedia guardar(String url, String contentType, Escritor escritor) throws IOException {
+        return guardar(url, contentType, escritor, () -> null);
+    }
+
+    private CachedMedia guardar(String url, String contentType, Escritor escritor,
+                                Supplier<String> contentTypeTardio) throws IOException {
+        MessageDigest sha256 = newSha256();
+        Path temporal = Files.createTempFile(directorio, "descarga-", ".tmp");
+
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temporal), sha256)) {
+                escritor.escribir(out);
+            }
+
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String tipo = contentType != null ? contentType : contentTypeTardio.get();
+            Path destino = directorio.resolve(hash + ".bin");
+
+            // Mismo contenido ya almacenado (otra URL): se reutiliza el blob
+            if (Files.exists(destino)) {
+                Files.deleteIfExists(temporal);
+            } else {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            Properties props = new Properties();
+            props.setProperty("url", url);
+            props.setProperty("contentType", tipo != null ? tipo : "application/octet-stream");
+            try (OutputStream out = Files.newOutputStream(directorio.resolve(hash + ".meta"))) {
+                props.store(out, null);
+            }
+
+            CachedMedia media = new CachedMedia(hash, url, props.getProperty("contentType"), destino, Files.size(destino));
+            registrar(media);
+            expulsarSiExcede();
+            return media;
+
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private void registrar(CachedMedia media) {
+        synchronized (porHash) {
+            // Si el contenido ya estaba (otra URL con el mismo archivo) no suma bytes
+            if (porHash.put(media.hash(), media) == null) {
+                bytesTotales += media.size();
+            }
+        }
+        String archivo = nombreArchivo(media.url());
+        if (archivo != null) {
+            hashPorArchivo.put(archivo, media.hash());
+        }
+    }
+
+    private void expulsarSiExcede() {
+        List<CachedMedia> expulsadas = new ArrayList<>();
+
+        synchronized (porHash) {
+            Iterator<CachedMedia> it = porHash.values().iterator();
+            while (bytesTotales > maxBytes && it.hasNext()) {
+                CachedMedia media = it.next();
+                it.remove();
+                bytesTotales -= media.size();
+                expulsadas.add(media);
+            }
+        }
+
+        for (CachedMedia media : expulsadas) {
+            String archivo = nombreArchivo(media.url());
+            if (archivo != null) {
+                hashPorArchivo.remove(archivo, media.hash());
+            }
+            try {
+                Files.deleteIfExists(media.path());
+                Files.deleteIfExists(directorio.resolve(media.hash() + ".meta"));
+                log.debug("Media expulsada de cache (LRU): {}", media.url());
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar media cacheada {}: {}", media.path(), e.getMessage());
+            }
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static MessageDigest newSha256() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Escritor {
+        void escribir(OutputStream out) throws IOException;
+    }
+
+    //Archivo cacheado; el contenido se mapea en memoria la primera vez que se lee
+    public static final class CachedMedia {
+        private final String hash;
+        private final String url;
+        private final String contentType;
+        private final Path path;
+        private final long size;
+        private volatile MappedByteBuffer mapped;
+
+        CachedMedia(String hash, String url, String contentType, Path path, long size) {
+            this.hash = hash;
+            this.url = url;
+            this.contentType = contentType;
+            this.path = path;
+            this.size = size;
+        }
+
+        public String hash() { return hash; }
+        public String url() { return url; }
+        public String contentType() { return contentType; }
+        public Path path() { return path; }
+        public long size() { return size; }
+
+        //Resource de solo lectura sobre el archivo mapeado (soporta Range vía skip)
+        public AbstractResource asResource() throws IOException {
+            ByteBuffer buffer = mapear().duplicate();
+            return new AbstractResource() {
+                @Override
+                public String getDescription() {
+                    return "Media cacheada " + hash;
+                }
+
+                @Override
+                public long contentLength() {
+                    return size;
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteBufferInputStream(buffer.duplicate());
+                }
+            };
+        }
+
+        private MappedByteBuffer mapear() throws IOException {
+            MappedByteBuffer actual = mapped;
+            if (actual == null) {
+                synchronized (this) {
+                    actual = mapped;
+                    if (actual == null) {
+                        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                            actual = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        }
+                        mapped = actual;
+                    }
+                }
+            }
+            return actual;
+        }
+    }
+
+    //InputStream sobre un ByteBuffer (skip en O(1) para respuestas parciales)
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int saltar = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + saltar);
+            return saltar;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
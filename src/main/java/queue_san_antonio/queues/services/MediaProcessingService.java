@@ -0,0 +1,235 @@
+package queue_san_antonio.queues.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import queue_san_antonio.queues.models.MensajeInstitucional;
+import queue_san_antonio.queues.models.TipoMensaje;
+import queue_san_antonio.queues.repositories.MensajeInstitucionalRepository;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+//Genera versiones reducidas de las imágenes subidas para pantallas
+//Las pantallas (TV/mini PC) no deberían decodificar fotos de 12MP en cada rotación:
+// - "pantalla": JPEG ajustado a la resolución máxima de la pantalla
+// - "miniatura": JPEG pequeño para listados de administración
+//Se ejecuta fuera del request en un pool acotado (ver AsyncConfig)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaProcessingService {
+
+    private static final String CARPETA_RENDITIONS = "renditions";
+    private static final String CONTENT_TYPE_JPEG = "image/jpeg";
+
+    private final MensajeInstitucionalRepository mensajeInstitucionalRepository;
+    private final MediaCacheService mediaCacheService;
+    private final FileStorageService fileStorageService;
+    private final PantallaSnapshotService pantallaSnapshotService;
+    private final AgendaMensajesService agendaMensajesService;
+
+    @Value("${media.renditions.pantalla.ancho:1920}")
+    private int anchoPantalla;
+
+    @Value("${media.renditions.pantalla.alto:1080}")
+    private int altoPantalla;
+
+    @Value("${media.renditions.miniatura.ancho:320}")
+    private int anchoMiniatura;
+
+    @Value("${media.renditions.miniatura.alto:180}")
+    private int altoMiniatura;
+
+    @Value("${media.renditions.calidad-jpeg:0.85}")
+    private float calidadJpeg;
+
+    //Genera y registra las versiones reducidas del mensaje (solo imágenes)
+    @Async("mediaProcessingExecutor")
+    public void generarRenditions(Long mensajeId) {
+        MensajeInstitucional mensaje = mensajeInstitucionalRepository.findById(mensajeId).orElse(null);
+        if (mensaje == null || mensaje.getTipo() != TipoMensaje.IMAGEN || mensaje.getRutaArchivo() == null) {
+            return;
+        }
+
+        String rutaOriginal = mensaje.getRutaArchivo();
+        Path pantalla = null;
+        Path miniatura = null;
+
+        try {
+            MediaCacheService.CachedMedia original = mediaCacheService.obtener(rutaOriginal).orElse(null);
+            if (original == null) {
+                log.warn("No se pudo obtener la imagen original del mensaje {}: {}", mensajeId, rutaOriginal);
+                return;
+            }
+
+            // Una sola decodificación (submuestreada) para ambas versiones
+            BufferedImage imagen = leerSubmuestreada(original.path(), anchoPantalla, altoPantalla);
+            if (imagen == null) {
+                log.warn("Formato de imagen no soportado para el mensaje {}: {}", mensajeId, original.contentType());
+                return;
+            }
+
+            pantalla = escribirJpeg(escalar(imagen, anchoPantalla, altoPantalla));
+            miniatura = escribirJpeg(escalar(imagen, anchoMiniatura, altoMiniatura));
+
+            String nombreBase = "mensaje-" + mensajeId;
+            String urlPantalla = subir(pantalla, nombreBase + "-pantalla.jpg");
+            String urlMiniatura = subir(miniatura, nombreBase + "-miniatura.jpg");
+
+            int actualizados = mensajeInstitucionalRepository.actualizarRenditions(
+                    mensajeId, rutaOriginal, urlPantalla, urlMiniatura);
+
+            if (actualizados == 0) {
+                // El archivo cambió mientras se procesaba: las versiones generadas ya no sirven
+                eliminarDescartada(urlPantalla);
+                eliminarDescartada(urlMiniatura);
+                return;
+            }
+
+            pantallaSnapshotService.invalidar();
+            agendaMensajesService.recargarAfterCommit();
+
+            log.info("Versiones reducidas generadas para mensaje {} ({}x{} -> pantalla y miniatura)",
+                    mensajeId, imagen.getWidth(), imagen.getHeight());
+
+        } catch (Exception e) {
+            log.error("Error generando versiones reducidas del mensaje {}: {}", mensajeId, e.getMessage());
+        } finally {
+            eliminarTemporal(pantalla);
+            eliminarTemporal(miniatura);
+        }
+    }
+
+    //Borra de B2 las versiones reducidas de un mensaje eliminado
+    @Async("mediaProcessingExecutor")
+    public void eliminarRenditions(String... urls) {
+        for (String url : urls) {
+            if (url != null) {
+                eliminarDescartada(url);
+            }
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Decodifica la imagen con submuestreo: no se carga a resolución completa si sobra
+    private BufferedImage leerSubmuestreada(Path archivo, int anchoMax, int altoMax) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(archivo.toFile())) {
+            if (input == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                int ancho = reader.getWidth(0);
+                int alto = reader.getHeight(0);
+
+                // Factor entero que deja la imagen aún >= destino (el escalado final mantiene la calidad)
+                int factor = Math.max(1, Math.min(ancho / anchoMax, alto / altoMax));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    //Escala manteniendo la proporción para que entre en el recuadro indicado
+    private BufferedImage escalar(BufferedImage origen, int anchoMax, int altoMax) {
+        double escala = Math.min(1.0, Math.min(
+                (double) anchoMax / origen.getWidth(),
+                (double) altoMax / origen.getHeight()));
+
+        int ancho = Math.max(1, (int) Math.round(origen.getWidth() * escala));
+        int alto = Math.max(1, (int) Math.round(origen.getHeight() * escala));
+
+        // JPEG no admite transparencia: se compone sobre fondo blanco en RGB
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, ancho, alto);
+            g.drawImage(origen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private Path escribirJpeg(BufferedImage imagen) throws IOException {
+        Path temporal = Files.createTempFile("rendition-", ".jpg");
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temporal.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(calidadJpeg);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(imagen, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return temporal;
+    }
+
+    //Sube la versión y la deja en la cache local para que la pantalla no vuelva a descargarla
+    private String subir(Path archivo, String nombre) throws IOException {
+        String url = fileStorageService.uploadFile(archivo, nombre, CONTENT_TYPE_JPEG, CARPETA_RENDITIONS);
+        mediaCacheService.precargar(url, CONTENT_TYPE_JPEG, Files.newInputStream(archivo));
+        return url;
+    }
+
+    //Borra de B2 una versión que ya no se usa; un fallo no impide borrar la otra
+    private void eliminarDescartada(String url) {
+        try {
+            fileStorageService.deleteFile(url);
+        } catch (Exception e) {
+            log.warn("No se pudo eliminar la versión descartada {}: {}", url, e.getMessage());
+        }
+    }
+
+    private void eliminarTemporal(Path archivo) {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.debug("No se pudo eliminar temporal {}: {}", archivo, e.getMessage());
+        }
+    }
+}
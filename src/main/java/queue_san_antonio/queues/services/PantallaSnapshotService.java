@@ -0,0 +1,180 @@
+package queue_san_antonio.queues.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import queue_san_antonio.queues.repositories.ConfiguracionPantallaRepository;
+import queue_san_antonio.queues.repositories.SectorRepository;
+import queue_san_antonio.queues.services.realtime.SseTurnosService;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+import queue_san_antonio.queues.web.dto.mapper.ConfiguracionPantallaMapper;
+import queue_san_antonio.queues.web.dto.mapper.MensajeInstitucionalMapper;
+import queue_san_antonio.queues.web.dto.mapper.SectorMapper;
+import queue_san_antonio.queues.web.dto.pantalla.PantallaBootstrapResponse;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Snapshot en memoria del estado de las pantallas (configuración, mensajes, sectores)
+//Las pantallas lo consultan sin tocar la BD; se reconstruye en forma perezosa cuando:
+// - un servicio de configuración/mensajes/sectores invalida tras un commit
+// - cambia la lista de mensajes vigentes publicada por AgendaMensajesService
+// - vence el TTL (cambios hechos por otra instancia)
+//Ante cada cambio confirmado se reconstruye y, si la versión cambió, se avisa a las pantallas
+//por el canal global SSE ("pantalla_actualizada" con la nueva versión) para que no tengan que hacer polling
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PantallaSnapshotService {
+
+    public static final String EVENTO_ACTUALIZADA = "pantalla_actualizada";
+
+    private final ConfiguracionPantallaRepository configuracionPantallaRepository;
+    private final AgendaMensajesService agendaMensajesService;
+    private final SectorRepository sectorRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final SseTurnosService sseTurnosService;
+
+    @Value("${pantalla.snapshot.ttl-ms:60000}")
+    private long ttlMs;
+
+    //Espera antes de publicar: agrupa ráfagas de cambios (ej. reordenar varios mensajes)
+    @Value("${pantalla.snapshot.debounce-ms:250}")
+    private long debounceMs;
+
+    //Se incrementa en cada invalidación; un snapshot de una generación anterior está vencido
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean publicacionPendiente = new AtomicBoolean();
+    private volatile String ultimaVersionPublicada;
+
+    @PostConstruct
+    void init() {
+        agendaMensajesService.alCambiar(this::programarPublicacion);
+    }
+
+    //Snapshot vigente (lo reconstruye si fue invalidado)
+    public Snapshot obtener() {
+        Snapshot actual = this.snapshot;
+        if (actual != null && actual.vigente(generacion.get(), agendaMensajesService.version())) {
+            return actual;
+        }
+
+        // Single-flight: las pantallas que piden a la vez esperan una única reconstrucción
+        synchronized (this) {
+            actual = this.snapshot;
+            if (actual == null || !actual.vigente(generacion.get(), agendaMensajesService.version())) {
+                actual = construir();
+                this.snapshot = actual;
+            }
+            return actual;
+        }
+    }
+
+    //Marca el snapshot como vencido cuando la transacción actual confirme
+    public void invalidar() {
+        TransaccionUtil.afterCommit(() -> {
+            generacion.incrementAndGet();
+            programarPublicacion();
+        });
+    }
+
+    //Detecta cambios hechos por otras instancias (el snapshot vence por TTL) y los publica
+    @Scheduled(fixedDelayString = "${pantalla.snapshot.ttl-ms:60000}",
+            initialDelayString = "${pantalla.snapshot.ttl-ms:60000}")
+    public void verificarCambios() {
+        programarPublicacion();
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Programa una única publicación para todos los cambios que lleguen durante el debounce
+    private void programarPublicacion() {
+        if (publicacionPendiente.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::publicar, Instant.now().plusMillis(debounceMs));
+        }
+    }
+
+    //Reconstruye y avisa a las pantallas solo si el contenido cambió
+    private void publicar() {
+        publicacionPendiente.set(false);
+        try {
+            Snapshot actual = obtener();
+            if (!actual.etag().equals(ultimaVersionPublicada)) {
+                ultimaVersionPublicada = actual.etag();
+                sseTurnosService.notifyPantallas(EVENTO_ACTUALIZADA, Map.of(
+                        "version", actual.etag(),
+                        "ts", Instant.now().toString()));
+                log.debug("Pantallas notificadas - version: {}", actual.etag());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error publicando cambios a pantallas: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot construir() {
+        long generacionLeida = generacion.get();
+        long versionMensajes = agendaMensajesService.version();
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        Snapshot nuevo = template.execute(status -> {
+            PantallaBootstrapResponse datos = PantallaBootstrapResponse.builder()
+                    .configuracion(configuracionPantallaRepository.findByActivoTrue()
+                            .map(ConfiguracionPantallaMapper::toResponse)
+                            .orElse(null))
+                    .mensajes(MensajeInstitucionalMapper.toSummaryResponseList(agendaMensajesService.vigentes()))
+                    .sectores(SectorMapper.toPantallaInfoList(sectorRepository.findActivosOrdenados()))
+                    .build();
+
+            String etag = calcularEtag(datos);
+            datos.setVersion(etag);
+
+            return new Snapshot(datos, etag, generacionLeida, versionMensajes, System.currentTimeMillis() + ttlMs);
+        });
+
+        log.debug("Snapshot de pantallas reconstruido - version: {}", nuevo.etag());
+        return nuevo;
+    }
+
+    //ETag por contenido: igual entre reconstrucciones e instancias si los datos no cambiaron
+    private String calcularEtag(PantallaBootstrapResponse datos) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(datos);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            // Sin hash por contenido: versión única por reconstrucción (no hay 304 entre rebuilds)
+            log.warn("No se pudo calcular el ETag del snapshot de pantallas: {}", e.getMessage());
+            return Long.toHexString(System.nanoTime());
+        }
+    }
+
+    //Estado inmutable servido a las pantallas
+    public record Snapshot(PantallaBootstrapResponse datos, String etag, long generacion,
+                           long versionMensajes, long expiraEn) {
+        boolean vigente(long generacionActual, long versionMensajesActual) {
+            return generacion == generacionActual && versionMensajes == versionMensajesActual &&
+                    System.currentTimeMillis() < expiraEn;
+        }
+    }
+}
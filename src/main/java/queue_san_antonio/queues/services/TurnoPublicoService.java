@@ -0,0 +1,264 @@
+package queue_san_antonio.queues.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import queue_san_antonio.queues.models.EstadoTurno;
+import queue_san_antonio.queues.models.Sector;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.repositories.SectorRepository;
+import queue_san_antonio.queues.repositories.TurnoRepository;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+import queue_san_antonio.queues.web.dto.mapper.TurnoMapper;
+import queue_san_antonio.queues.web.dto.turno.TurnoPublicoResponse;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Estado público de los turnos del día servido desde memoria (consulta por código desde celulares)
+//Cada turno tiene un TurnoPublicoResponse inmutable con posición en la cola y espera estimada
+//(EsperaEstimadaService); la espera del sector se publica además por su canal SSE.
+//Las transiciones recalculan, después del commit, la cola de los sectores afectados con una sola
+//consulta (idx_turnos_cola_activa); el polling de los ciudadanos es una lectura del mapa, sin BD.
+//El recálculo de una transición corre en el executor, no en el request del operador: ese request
+//todavía retiene su conexión (open-in-view) y no debe pedir una segunda al pool.
+//Los cambios hechos por otra instancia se toman con una resincronización periódica
+@Service
+@Slf4j
+public class TurnoPublicoService {
+
+    private final TurnoRepository turnoRepository;
+    private final SectorRepository sectorRepository;
+    private final EsperaEstimadaService esperaEstimadaService;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor recalculoExecutor;
+
+    private volatile Dia actual = new Dia(TurnosDelDiaCacheService.hoy());
+
+    public TurnoPublicoService(TurnoRepository turnoRepository,
+                               SectorRepository sectorRepository,
+                               EsperaEstimadaService esperaEstimadaService,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor recalculoExecutor) {
+        this.turnoRepository = turnoRepository;
+        this.sectorRepository = sectorRepository;
+        this.esperaEstimadaService = esperaEstimadaService;
+        this.transactionManager = transactionManager;
+        this.recalculoExecutor = recalculoExecutor;
+    }
+
+    //Estado en memoria del turno de hoy con ese código
+    public Optional<TurnoPublicoResponse> buscar(String codigo) {
+        if (codigo == null || codigo.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(dia().porCodigo.get(codigo.trim().toUpperCase()));
+    }
+
+    //Arma el estado de un turno leído de la BD que no estaba en memoria y lo guarda si es de hoy
+    //Si el turno está activo recalcula la cola de su sector para conocer la posición
+    public TurnoPublicoResponse registrar(Turno turno) {
+        Dia dia = dia();
+        if (!esDelDia(turno, dia)) {
+            return TurnoMapper.toPublicoResponse(turno, null, null, null);
+        }
+
+        if (!estaActivo(turno.getEstado())) {
+            TurnoPublicoResponse estado = TurnoMapper.toPublicoResponse(turno, null, null, null);
+            dia.porCodigo.put(turno.getCodigo(), estado);
+            return estado;
+        }
+
+        recalcular(dia, turno.getSector().getId(), TransactionDefinition.PROPAGATION_REQUIRED);
+        TurnoPublicoResponse estado = dia.porCodigo.get(turno.getCodigo());
+        return estado != null ? estado : TurnoMapper.toPublicoResponse(turno, null, null, null);
+    }
+
+    //Actualiza el estado público cuando la transacción actual confirme
+    //@param otrosSectores sectores cuya cola también cambió (ej. origen de una redirección)
+    public void actualizarAfterCommit(Turno turno, Long... otrosSectores) {
+        // Se toma ahora: después del commit la entidad puede estar desconectada
+        String codigo = turno.getCodigo();
+        LocalDate fechaGeneracion = turno.getFechaHoraGeneracion() != null
+                ? turno.getFechaHoraGeneracion().toLocalDate() : null;
+        TurnoPublicoResponse terminal = estaActivo(turno.getEstado())
+                ? null : TurnoMapper.toPublicoResponse(turno, null, null, null);
+
+        Set<Long> sectores = new LinkedHashSet<>();
+        sectores.add(turno.getSector().getId());
+        for (Long sectorId : otrosSectores) {
+            if (sectorId != null) {
+                sectores.add(sectorId);
+            }
+        }
+
+        TransaccionUtil.afterCommit(() -> {
+            Dia dia = dia();
+            if (terminal != null && dia.fecha.equals(fechaGeneracion)) {
+                // Sin lock: recalcular nunca reemplaza un estado terminal por uno activo
+                dia.porCodigo.put(codigo, terminal);
+            }
+            for (Long sectorId : sectores) {
+                programarRecalculo(dia, sectorId);
+            }
+        });
+    }
+
+    //Recalcula los sectores con turnos en memoria (cambios hechos por otra instancia)
+    @Scheduled(fixedDelayString = "${turnos.publico.resincronizacion-ms:30000}",
+            initialDelayString = "${turnos.publico.resincronizacion-ms:30000}")
+    public void resincronizar() {
+        Dia dia = dia();
+        for (Long sectorId : dia.colas.keySet()) {
+            try {
+                recalcular(dia, sectorId, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            } catch (RuntimeException e) {
+                log.warn("Error resincronizando estado público del sector {}: {}", sectorId, e.getMessage());
+            }
+        }
+        log.debug("Estado público resincronizado - sectores: {}, turnos: {}",
+                dia.colas.size(), dia.porCodigo.size());
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Encola el recálculo del sector; las transiciones que llegan mientras hay uno pendiente se
+    //agrupan en ese mismo (como máximo una conexión por sector a la vez, y solo desde el executor)
+    private void programarRecalculo(Dia dia, Long sectorId) {
+        ColaSector cola = dia.cola(sectorId);
+        if (!cola.pendiente.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            recalculoExecutor.execute(() -> {
+                // Se libera antes de leer: una transición confirmada durante la lectura programa otro
+                cola.pendiente.set(false);
+                try {
+                    recalcular(dia, sectorId, TransactionDefinition.PROPAGATION_REQUIRED);
+                } catch (RuntimeException e) {
+                    // La próxima transición o la resincronización lo corrigen
+                    log.warn("Error recalculando estado público del sector {}: {}", sectorId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cola.pendiente.set(false);
+            log.warn("Recálculo del estado público del sector {} rechazado: {}", sectorId, e.getMessage());
+        }
+    }
+
+    //Lee la cola activa del sector y reemplaza los estados de sus turnos
+    //Un lock por sector: los recálculos del mismo sector se aplican en orden de lectura
+    private void recalcular(Dia dia, Long sectorId, int propagacion) {
+        ColaSector cola = dia.cola(sectorId);
+        synchronized (cola) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.setPropagationBehavior(propagacion);
+
+            Set<String> codigos = template.execute(status -> {
+                List<Turno> activos = turnoRepository.findTurnosActivosBySector(sectorId);
+                Set<String> publicados = new HashSet<>();
+                int esperando = 0;
+
+                // Mismo orden que el llamado: prioridad y antigüedad (los de días anteriores también ocupan lugar)
+                for (Turno turno : activos) {
+                    Integer posicion = null;
+                    Integer turnosAntes = null;
+                    Integer espera = null;
+                    if (turno.getEstado() == EstadoTurno.GENERADO || turno.getEstado() == EstadoTurno.REDIRIGIDO) {
+                        posicion = ++esperando;
+                        turnosAntes = posicion - 1;
+                        espera = esperaEstimadaService.estimarMinutos(turno.getSector(), turnosAntes,
+                                turno.esPrioritario());
+                    }
+                    if (esDelDia(turno, dia)) {
+                        // Una lectura anterior al commit de una finalización no revive el turno (terminal es definitivo)
+                        TurnoPublicoResponse nuevo = TurnoMapper.toPublicoResponse(turno, posicion, turnosAntes, espera);
+                        dia.porCodigo.merge(turno.getCodigo(), nuevo,
+                                (previo, actualizado) -> estaActivo(previo.estado()) ? actualizado : previo);
+                        publicados.add(turno.getCodigo());
+                    }
+                }
+
+                Sector sector = !activos.isEmpty()
+                        ? activos.get(0).getSector() : sectorRepository.findById(sectorId).orElse(null);
+                esperaEstimadaService.publicar(sector, esperando);
+                return publicados;
+            });
+
+            // Turnos que salieron de la cola sin pasar por esta instancia: se descartan (la próxima
+            // consulta los lee de la BD). No se tocan los terminales ni los que ahora están en otro sector
+            for (String codigo : cola.codigos) {
+                if (!codigos.contains(codigo)) {
+                    dia.porCodigo.computeIfPresent(codigo, (clave, estado) ->
+                            estaActivo(estado.estado()) && estado.sector() != null &&
+                                    sectorId.equals(estado.sector().id()) ? null : estado);
+                }
+            }
+            cola.codigos = codigos;
+        }
+    }
+
+    //Día vigente; si cambió la fecha se descarta todo
+    private Dia dia() {
+        Dia dia = actual;
+        LocalDate hoy = TurnosDelDiaCacheService.hoy();
+        if (dia.fecha.equals(hoy)) {
+            return dia;
+        }
+        synchronized (this) {
+            if (!actual.fecha.equals(hoy)) {
+                actual = new Dia(hoy);
+            }
+            return actual;
+        }
+    }
+
+    private static boolean esDelDia(Turno turno, Dia dia) {
+        return turno.getFechaHoraGeneracion() != null &&
+                turno.getFechaHoraGeneracion().toLocalDate().equals(dia.fecha);
+    }
+
+    //Mismo criterio que Turno.estaActivo
+    private static boolean estaActivo(EstadoTurno estado) {
+        return estado != EstadoTurno.FINALIZADO &&
+                estado != EstadoTurno.CANCELADO &&
+                estado != EstadoTurno.AUSENTE;
+    }
+
+    //Estados publicados de una fecha y códigos publicados por cada cola
+    private static final class Dia {
+        private final LocalDate fecha;
+        private final Map<String, TurnoPublicoResponse> porCodigo = new ConcurrentHashMap<>();
+        private final Map<Long, ColaSector> colas = new ConcurrentHashMap<>();
+
+        private Dia(LocalDate fecha) {
+            this.fecha = fecha;
+        }
+
+        private ColaSector cola(Long sectorId) {
+            return colas.computeIfAbsent(sectorId, id -> new ColaSector());
+        }
+    }
+
+    //Lock, códigos activos publicados en el último recálculo y recálculo pendiente del sector
+    private static final class ColaSector {
+        private Set<String> codigos = Set.of();
+        private final AtomicBoolean pendiente = new AtomicBoolean();
+    }
+}
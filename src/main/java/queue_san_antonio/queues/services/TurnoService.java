@@ -2,6 +2,7 @@ package queue_san_antonio.queues.services;
 
 import queue_san_antonio.queues.models.TipoTurno;
 import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.web.dto.turno.TurnoPublicoResponse;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -15,6 +16,8 @@ public interface TurnoService {
     Optional<Turno> buscarPorId(Long id);
     Optional<Turno> buscarPorCodigo(String codigo);
     Optional<Turno> buscarPorCodigoYFecha(String codigo, LocalDate fecha);
+    Optional<Turno> buscarTurnoDelDia(String codigo);
+    Optional<TurnoPublicoResponse> consultarEstadoPublico(String codigo);
 
     // Generación de turnos
     Turno generarTurno(Long ciudadanoId, Long sectorId, TipoTurno tipo, Long empleadoId);
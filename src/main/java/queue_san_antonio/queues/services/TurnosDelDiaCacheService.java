@@ -0,0 +1,91 @@
+package queue_san_antonio.queues.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Índice en memoria código -> id de los turnos generados hoy
+//Los códigos se reinician cada día, así que dentro del día identifican un único turno.
+//Se alimenta al generar turnos (después del commit) y con cada búsqueda por código que
+//encuentre un turno del día en la BD (arranque en frío o turnos de otra instancia).
+//Al cambiar el día se descarta completo
+@Service
+@Slf4j
+public class TurnosDelDiaCacheService {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Argentina/Cordoba");
+
+    private volatile Dia actual = new Dia(LocalDate.now(ZONA));
+
+    //Id del turno de hoy con ese código, si está indexado
+    public Optional<Long> buscarId(String codigo) {
+        if (codigo == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(dia().ids.get(codigo));
+    }
+
+    //Indexa el turno si fue generado hoy
+    public void registrar(Turno turno) {
+        if (turno == null || turno.getId() == null || turno.getCodigo() == null) {
+            return;
+        }
+        Dia dia = dia();
+        if (esDelDia(turno.getFechaHoraGeneracion(), dia.fecha)) {
+            dia.ids.put(turno.getCodigo(), turno.getId());
+        }
+    }
+
+    //Indexa el turno cuando la transacción actual confirme (un rollback no deja códigos huérfanos)
+    public void registrarAfterCommit(Turno turno) {
+        TransaccionUtil.afterCommit(() -> registrar(turno));
+    }
+
+    //Fecha de referencia del índice (misma zona que la generación de códigos)
+    public static LocalDate hoy() {
+        return LocalDate.now(ZONA);
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Día vigente; si cambió la fecha se reemplaza el índice completo
+    private Dia dia() {
+        Dia dia = actual;
+        LocalDate hoy = hoy();
+        if (dia.fecha.equals(hoy)) {
+            return dia;
+        }
+        synchronized (this) {
+            if (!actual.fecha.equals(hoy)) {
+                log.info("Índice de turnos del día reiniciado - anterior: {} ({} turnos)",
+                        actual.fecha, actual.ids.size());
+                actual = new Dia(hoy);
+            }
+            return actual;
+        }
+    }
+
+    private static boolean esDelDia(LocalDateTime fechaHora, LocalDate fecha) {
+        return fechaHora != null && fechaHora.toLocalDate().equals(fecha);
+    }
+
+    //Turnos indexados de una fecha
+    private static final class Dia {
+        private final LocalDate fecha;
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+        private Dia(LocalDate fecha) {
+            this.fecha = fecha;
+        }
+    }
+}
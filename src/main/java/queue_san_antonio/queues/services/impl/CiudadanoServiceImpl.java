@@ -1,7 +1,12 @@
 package queue_san_antonio.queues.services.impl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import queue_san_antonio.queues.models.Ciudadano;
@@ -19,6 +24,9 @@ public class CiudadanoServiceImpl implements CiudadanoService {
 
     private final CiudadanoRepository ciudadanoRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Ciudadano guardar(Ciudadano ciudadano) {
         log.debug("Guardando ciudadano: {}", ciudadano.getDni());
@@ -46,7 +54,11 @@ public class CiudadanoServiceImpl implements CiudadanoService {
         if (dni == null || dni.trim().isEmpty()) {
             return Optional.empty();
         }
-        return ciudadanoRepository.findByDni(dni.trim());
+        // Resolución por natural id: DNI -> ID -> entidad, servido desde el cache de segundo nivel
+        // (ciudadanos recurrentes no consultan la tabla; se actualiza al guardar)
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Ciudadano.class)
+                .loadOptional(dni.trim());
     }
 
     @Override
@@ -58,6 +70,22 @@ public class CiudadanoServiceImpl implements CiudadanoService {
         return ciudadanoRepository.findAllByOrderByApellidoAscNombreAsc();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Object[]> listarPaginadoConResumenTurnos(int limite, int offset) {
+        log.debug("Listando ciudadanos paginados - límite: {}, offset: {}", limite, offset);
+
+        if (limite <= 0 || limite > 500) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y 500");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("El offset no puede ser negativo");
+        }
+
+        // Una consulta para la página (con conteo de turnos y pendiente) y otra para el total
+        return ciudadanoRepository.findAllConResumenTurnos(PageRequest.of(offset / limite, limite));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Ciudadano> buscarPorDniOApellido(String dni, String apellido) {
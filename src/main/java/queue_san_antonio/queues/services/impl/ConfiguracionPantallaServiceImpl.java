@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import queue_san_antonio.queues.models.ConfiguracionPantalla;
 import queue_san_antonio.queues.repositories.ConfiguracionPantallaRepository;
 import queue_san_antonio.queues.services.ConfiguracionPantallaService;
+import queue_san_antonio.queues.services.PantallaSnapshotService;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,10 +19,12 @@ import java.util.Optional;
 public class ConfiguracionPantallaServiceImpl implements ConfiguracionPantallaService {
 
     private final ConfiguracionPantallaRepository configuracionPantallaRepository;
+    private final PantallaSnapshotService pantallaSnapshotService;
 
     @Override
     public ConfiguracionPantalla guardar(ConfiguracionPantalla configuracion) {
         log.debug("Guardando configuración de pantalla: {}", configuracion.getNombre());
+        pantallaSnapshotService.invalidar();
         return configuracionPantallaRepository.save(configuracion);
     }
 
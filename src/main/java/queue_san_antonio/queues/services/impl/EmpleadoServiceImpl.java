@@ -3,6 +3,7 @@ package queue_san_antonio.queues.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,7 +12,10 @@ import queue_san_antonio.queues.models.RolEmpleado;
 import queue_san_antonio.queues.models.Sector;
 import queue_san_antonio.queues.repositories.EmpleadoRepository;
 import queue_san_antonio.queues.repositories.SectorRepository;
+import queue_san_antonio.queues.security.jwt.TokenRevocationService;
+import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
 import queue_san_antonio.queues.services.EmpleadoService;
+import queue_san_antonio.queues.services.PantallaSnapshotService;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +29,8 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     private final EmpleadoRepository empleadoRepository;
     private final SectorRepository sectorRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
+    private final PantallaSnapshotService pantallaSnapshotService;
 
     @Override
     public Empleado guardar(Empleado empleado) {
@@ -234,6 +240,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 
             // Asignar el nuevo responsable
             sector.establecerResponsable(empleadoGuardado);
+            pantallaSnapshotService.invalidar();
             sectorRepository.save(sector);
         }
 
@@ -241,6 +248,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     @Transactional
     public Empleado actualizarEmpleado(Long empleadoId, String nombre, String apellido,
                                        String email, String dni, RolEmpleado nuevoRol, Long sectorId) {
@@ -272,6 +280,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     public void cambiarPassword(Long empleadoId, String nuevaPassword) {
         if (empleadoId == null) {
             throw new IllegalArgumentException("El ID del empleado no puede ser nulo");
@@ -296,6 +305,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     public void asignarASector(Long empleadoId, Long sectorId) {
         if (empleadoId == null) {
             throw new IllegalArgumentException("El ID del empleado no puede ser nulo");
@@ -328,6 +338,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     public void activar(Long empleadoId) {
         if (empleadoId == null) {
             throw new IllegalArgumentException("El ID del empleado no puede ser nulo");
@@ -351,6 +362,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     public void desactivar(Long empleadoId) {
         if (empleadoId == null) {
             throw new IllegalArgumentException("El ID del empleado no puede ser nulo");
@@ -369,6 +381,9 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         empleado.desactivar();
         guardar(empleado);
 
+        // Invalidar los tokens ya emitidos (access y refresh)
+        tokenRevocationService.revocarTodos(empleado.getUsername(), "DESACTIVACION");
+
         log.debug("Empleado {} desactivado exitosamente", empleado.getUsername());
 
     }
@@ -527,6 +542,9 @@ public class EmpleadoServiceImpl implements EmpleadoService {
                         sector.establecerResponsable(null);
                         sectorRepository.save(sector);
                     }
+                    if (!sectoresResponsable.isEmpty()) {
+                        pantallaSnapshotService.invalidar();
+                    }
                     // También desasignar de sector actual para posterior reasignación
                     empleado.asignarASector(null);
                 }
@@ -4,18 +4,24 @@ package queue_san_antonio.queues.services.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import queue_san_antonio.queues.models.ConfiguracionPantalla;
 import queue_san_antonio.queues.models.MensajeInstitucional;
 import queue_san_antonio.queues.models.TipoMensaje;
 import queue_san_antonio.queues.repositories.ConfiguracionPantallaRepository;
 import queue_san_antonio.queues.repositories.MensajeInstitucionalRepository;
+import queue_san_antonio.queues.services.AgendaMensajesService;
+import queue_san_antonio.queues.services.MediaProcessingService;
 import queue_san_antonio.queues.services.MensajeInstitucionalService;
+import queue_san_antonio.queues.services.PantallaSnapshotService;
+import queue_san_antonio.queues.utils.TransaccionUtil;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
@@ -25,10 +31,15 @@ public class MensajeInstitucionalServiceImpl implements MensajeInstitucionalServ
 
     private final MensajeInstitucionalRepository mensajeInstitucionalRepository;
     private final ConfiguracionPantallaRepository configuracionPantallaRepository;
+    private final MediaProcessingService mediaProcessingService;
+    private final PantallaSnapshotService pantallaSnapshotService;
+    private final AgendaMensajesService agendaMensajesService;
 
     @Override
     public MensajeInstitucional guardar(MensajeInstitucional mensaje) {
         log.debug("Guardando mensaje institucional: {}", mensaje.getTitulo());
+        pantallaSnapshotService.invalidar();
+        agendaMensajesService.recargarAfterCommit();
         return mensajeInstitucionalRepository.save(mensaje);
     }
 
@@ -49,11 +60,19 @@ public class MensajeInstitucionalServiceImpl implements MensajeInstitucionalServ
 
         log.info("Eliminando mensaje institucional ID: {}", id);
 
-        if (!mensajeInstitucionalRepository.existsById(id)) {
-            throw new IllegalArgumentException("No se encontró mensaje con ID: " + id);
-        }
+        MensajeInstitucional mensaje = mensajeInstitucionalRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("No se encontró mensaje con ID: " + id));
+        String rutaPantalla = mensaje.getRutaArchivoPantalla();
+        String rutaMiniatura = mensaje.getRutaMiniatura();
+
+        mensajeInstitucionalRepository.delete(mensaje);
+        pantallaSnapshotService.invalidar();
+        agendaMensajesService.recargarAfterCommit();
 
-        mensajeInstitucionalRepository.deleteById(id);
+        // Las versiones reducidas las subió el servidor: se borran de B2 solo si el borrado se confirma
+        if (rutaPantalla != null || rutaMiniatura != null) {
+            encolarMediaAfterCommit(() -> mediaProcessingService.eliminarRenditions(rutaPantalla, rutaMiniatura));
+        }
 
         log.debug("Mensaje institucional {} eliminado exitosamente", id);
     }
@@ -67,11 +86,11 @@ public class MensajeInstitucionalServiceImpl implements MensajeInstitucionalServ
         return mensajeInstitucionalRepository.findByConfiguracionIdAndActivoTrueOrderByOrdenAsc(configuracionId);
     }
 
+    //Lista precalculada por la agenda en memoria (sin consulta a BD ni conexión del pool)
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<MensajeInstitucional> listarMensajesVigentes() {
-        LocalDateTime ahora = LocalDateTime.now();
-        return mensajeInstitucionalRepository.findMensajesVigentes(ahora);
+        return agendaMensajesService.vigentes();
     }
 
     @Override
@@ -125,6 +144,11 @@ public class MensajeInstitucionalServiceImpl implements MensajeInstitucionalServ
 
         MensajeInstitucional mensajeGuardado = guardar(nuevoMensaje);
 
+        // Las imágenes se reducen en segundo plano una vez confirmado el alta
+        if (tipo == TipoMensaje.IMAGEN) {
+            generarRenditionsAfterCommit(mensajeGuardado.getId());
+        }
+
         log.debug("Mensaje institucional creado: {} - ID: {}", tituloLimpio, mensajeGuardado.getId());
 
         return mensajeGuardado;
@@ -252,6 +276,24 @@ public class MensajeInstitucionalServiceImpl implements MensajeInstitucionalServ
         }
     }
 
+    //Dispara la generación de versiones reducidas tras el commit (el proceso async debe ver el registro)
+    private void generarRenditionsAfterCommit(Long mensajeId) {
+        encolarMediaAfterCommit(() -> mediaProcessingService.generarRenditions(mensajeId));
+    }
+
+    //Encola trabajo de media después del commit; es best-effort: con la cola del executor llena
+    //se descarta (el mensaje ya quedó guardado y el cliente no debe recibir un 500)
+    private void encolarMediaAfterCommit(Runnable tareaMedia) {
+        Runnable segura = () -> {
+            try {
+                tareaMedia.run();
+            } catch (RejectedExecutionException e) {
+                log.warn("Procesamiento de media descartado, executor saturado: {}", e.getMessage());
+            }
+        };
+        TransaccionUtil.afterCommit(segura);
+    }
+
     //Valida el contenido según el tipo de mensaje
     private void validarContenidoPorTipo(TipoMensaje tipo, String titulo, String contenido, String rutaArchivo) {
         switch (tipo) {
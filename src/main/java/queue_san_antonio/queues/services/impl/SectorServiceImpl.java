@@ -2,6 +2,7 @@ package queue_san_antonio.queues.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import queue_san_antonio.queues.models.Empleado;
@@ -9,6 +10,8 @@ import queue_san_antonio.queues.models.Sector;
 import queue_san_antonio.queues.models.TipoSector;
 import queue_san_antonio.queues.repositories.EmpleadoRepository;
 import queue_san_antonio.queues.repositories.SectorRepository;
+import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
+import queue_san_antonio.queues.services.PantallaSnapshotService;
 import queue_san_antonio.queues.services.SectorService;
 
 import java.util.List;
@@ -22,6 +25,7 @@ public class SectorServiceImpl implements SectorService {
 
     private final SectorRepository sectorRepository;
     private final EmpleadoRepository empleadoRepository;
+    private final PantallaSnapshotService pantallaSnapshotService;
 
     @Override
     public Sector guardar(Sector sector) {
@@ -42,6 +46,7 @@ public class SectorServiceImpl implements SectorService {
             sector.setOrdenVisualizacion(obtenerSiguienteOrdenVisualizacion());
         }
 
+        pantallaSnapshotService.invalidar();
         return sectorRepository.save(sector);
     }
 
@@ -178,6 +183,7 @@ public class SectorServiceImpl implements SectorService {
     }
 
     @Override
+    @CacheEvict(cacheNames = EmpleadoUserDetailsService.CACHE_PRINCIPALES, allEntries = true)
     public void asignarResponsable(Long sectorId, Long empleadoId) {
         if (sectorId == null) {
             throw new IllegalArgumentException("El ID del sector no puede ser nulo");
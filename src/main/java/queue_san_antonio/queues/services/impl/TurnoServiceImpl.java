@@ -1,6 +1,7 @@
 package queue_san_antonio.queues.services.impl;
 
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
@@ -13,20 +14,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import queue_san_antonio.queues.models.*;
 import queue_san_antonio.queues.repositories.CiudadanoRepository;
 import queue_san_antonio.queues.repositories.EmpleadoRepository;
 import queue_san_antonio.queues.repositories.SectorRepository;
 import queue_san_antonio.queues.repositories.TurnoRepository;
+import queue_san_antonio.queues.services.EsperaEstimadaService;
 import queue_san_antonio.queues.services.EstadisticaTurnoService;
 import queue_san_antonio.queues.services.HistorialTurnoService;
 import queue_san_antonio.queues.services.HorarioAtencionService;
+import queue_san_antonio.queues.services.TurnoPublicoService;
 import queue_san_antonio.queues.services.TurnoService;
+import queue_san_antonio.queues.services.TurnosDelDiaCacheService;
+import queue_san_antonio.queues.services.metrics.TurnoMetricsService;
 import queue_san_antonio.queues.services.realtime.SseTurnosService;
+import queue_san_antonio.queues.services.realtime.StompTurnosService;
 import queue_san_antonio.queues.utils.DiaSemanaUtil;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+import queue_san_antonio.queues.web.dto.turno.TurnoPublicoResponse;
 import jakarta.persistence.criteria.*;
 
 import java.time.*;
@@ -34,6 +41,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -49,6 +57,11 @@ public class TurnoServiceImpl implements TurnoService {
     private final EstadisticaTurnoService estadisticaTurnoService;
     private final HorarioAtencionService horarioAtencionService;
     private final SseTurnosService sseTurnosService;
+    private final StompTurnosService stompTurnosService;
+    private final TurnoMetricsService turnoMetricsService;
+    private final TurnosDelDiaCacheService turnosDelDiaCacheService;
+    private final TurnoPublicoService turnoPublicoService;
+    private final EsperaEstimadaService esperaEstimadaService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -76,21 +89,68 @@ public class TurnoServiceImpl implements TurnoService {
         if (codigo == null || codigo.trim().isEmpty()) {
             return Optional.empty();
         }
+        String codigoLimpio = codigo.trim().toUpperCase();
+
+        // Casi todas las consultas son de turnos de hoy: índice en memoria + búsqueda por PK
+        Optional<Turno> delDia = buscarTurnoDelDia(codigoLimpio);
+        if (delDia.isPresent()) {
+            return delDia;
+        }
+
         // Busca el más reciente si hay duplicados
-        return turnoRepository.findByCodigo(codigo.trim().toUpperCase());
+        Optional<Turno> turno = turnoRepository.findFirstByCodigoOrderByFechaHoraGeneracionDesc(codigoLimpio);
+        turno.ifPresent(turnosDelDiaCacheService::registrar);
+        return turno;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Turno> buscarTurnoDelDia(String codigo) {
+        if (codigo == null || codigo.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String codigoLimpio = codigo.trim().toUpperCase();
+
+        Optional<Turno> turno = turnosDelDiaCacheService.buscarId(codigoLimpio)
+                .flatMap(turnoRepository::findById);
+        if (turno.isPresent()) {
+            return turno;
+        }
+
+        // No indexado (reinicio u otra instancia): rango del día sobre uk_turno_codigo_fecha
+        turno = buscarPorCodigoYFecha(codigoLimpio, TurnosDelDiaCacheService.hoy());
+        turno.ifPresent(turnosDelDiaCacheService::registrar);
+        return turno;
+    }
+
+    //Sin transacción propia: si el estado está en memoria el polling no toma conexión del pool
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<TurnoPublicoResponse> consultarEstadoPublico(String codigo) {
+        Optional<TurnoPublicoResponse> enMemoria = turnoPublicoService.buscar(codigo);
+        if (enMemoria.isPresent()) {
+            return enMemoria;
+        }
+        return buscarPorCodigo(codigo).map(turnoPublicoService::registrar);
     }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Turno> buscarPorCodigoYFecha(String codigo, LocalDate fecha) {
         if (codigo == null || codigo.trim().isEmpty() || fecha == null) {
             return Optional.empty();
         }
-        return turnoRepository.findByCodigoAndFecha(codigo.trim().toUpperCase(), fecha);
+        return turnoRepository.findByCodigoAndFecha(codigo.trim().toUpperCase(),
+                fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
     }
 
     @Override
     @Transactional
     public Turno generarTurno(Long ciudadanoId, Long sectorId, TipoTurno tipo, Long empleadoId) {
+        return medirTransicion(TurnoMetricsService.GENERAR, () -> ejecutarGeneracion(ciudadanoId, sectorId, tipo, empleadoId));
+    }
+
+    private Turno ejecutarGeneracion(Long ciudadanoId, Long sectorId, TipoTurno tipo, Long empleadoId) {
         // Validar parámetros
         if (ciudadanoId == null) {
             throw new IllegalArgumentException("El ID del ciudadano no puede ser nulo");
@@ -147,6 +207,8 @@ public class TurnoServiceImpl implements TurnoService {
         // Registrar en historial
         historialTurnoService.registrarGeneracion(turnoGuardado, empleado);
 
+        turnosDelDiaCacheService.registrarAfterCommit(turnoGuardado);
+
         // Actualizar estadísticas
         estadisticaTurnoService.actualizarTurnoGenerado(sectorId, empleadoId);
 
@@ -164,6 +226,9 @@ public class TurnoServiceImpl implements TurnoService {
         log.info("Turno generado exitosamente: {} para ciudadano {} en sector {}",
                 codigo, ciudadano.getDni(), sector.getCodigo());
 
+        esperaEstimadaService.registrarLlegada(turnoGuardado);
+        turnoPublicoService.actualizarAfterCommit(turnoGuardado);
+
         return turnoGuardado;
     }
 
@@ -201,6 +266,9 @@ public class TurnoServiceImpl implements TurnoService {
                 .build();
         historialTurnoService.guardar(registroCita);
 
+        // La cita cambia los datos públicos del turno ya registrado por generarTurno
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado);
+
         log.info("Turno especial generado exitosamente: {} para cita {} {}",
                 turnoActualizado.getCodigo(), fechaCita, horaCita);
 
@@ -258,6 +326,10 @@ public class TurnoServiceImpl implements TurnoService {
     @Override
     @Transactional
     public Turno llamarTurno(Long turnoId, Long empleadoId, String observaciones) {
+        return medirTransicion(TurnoMetricsService.LLAMAR, () -> ejecutarLlamado(turnoId, empleadoId, observaciones));
+    }
+
+    private Turno ejecutarLlamado(Long turnoId, Long empleadoId, String observaciones) {
         if (turnoId == null) {
             throw new IllegalArgumentException("El ID del turno no puede ser nulo");
         }
@@ -300,15 +372,32 @@ public class TurnoServiceImpl implements TurnoService {
                 )
         );
 
+        // Aviso personal: todas las consolas del empleado muestran el turno llamado
+        notifyEmpleadosAfterCommit(
+                List.of(empleado.getUsername()),
+                "turno_llamado",
+                Map.of(
+                        "turnoId", turnoActualizado.getId(),
+                        "codigo", turnoActualizado.getCodigo(),
+                        "sectorId", sectorId
+                )
+        );
+
         log.info("Turno {} llamado exitosamente por empleado {}",
                 turno.getCodigo(), empleado.getUsername());
 
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado);
+
         return turnoActualizado;
     }
 
     @Override
     @Transactional
     public Turno iniciarAtencion(Long turnoId, Long empleadoId) {
+        return medirTransicion(TurnoMetricsService.INICIAR_ATENCION, () -> ejecutarInicioAtencion(turnoId, empleadoId));
+    }
+
+    private Turno ejecutarInicioAtencion(Long turnoId, Long empleadoId) {
         if (turnoId == null) {
             throw new IllegalArgumentException("El ID del turno no puede ser nulo");
         }
@@ -349,12 +438,19 @@ public class TurnoServiceImpl implements TurnoService {
         log.info("Atención iniciada para turno {} por empleado {}",
                 turno.getCodigo(), empleado.getUsername());
 
+        esperaEstimadaService.registrarInicioAtencion(turnoActualizado);
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado);
+
         return turnoActualizado;
     }
 
     @Override
     @Transactional
     public Turno finalizarAtencion(Long turnoId, String observaciones) {
+        return medirTransicion(TurnoMetricsService.FINALIZAR_ATENCION, () -> ejecutarFinAtencion(turnoId, observaciones));
+    }
+
+    private Turno ejecutarFinAtencion(Long turnoId, String observaciones) {
         if (turnoId == null) {
             throw new IllegalArgumentException("El ID del turno no puede ser nulo");
         }
@@ -410,12 +506,19 @@ public class TurnoServiceImpl implements TurnoService {
         log.info("Atención finalizada para turno {} - Tiempo espera: {}min, Tiempo atención: {}min",
                 turnoActualizado.getCodigo(), tiempoEspera, tiempoAtencion);
 
+        esperaEstimadaService.registrarFinAtencion(turnoActualizado);
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado);
+
         return turnoActualizado;
     }
 
     @Override
     @Transactional
     public Turno marcarAusente(Long turnoId, Long empleadoId, String observaciones) {
+        return medirTransicion(TurnoMetricsService.MARCAR_AUSENTE, () -> ejecutarAusencia(turnoId, empleadoId, observaciones));
+    }
+
+    private Turno ejecutarAusencia(Long turnoId, Long empleadoId, String observaciones) {
         if (turnoId == null) throw new IllegalArgumentException("El ID del turno no puede ser nulo");
         if (empleadoId == null) throw new IllegalArgumentException("El ID del empleado no puede ser nulo");
 
@@ -452,12 +555,18 @@ public class TurnoServiceImpl implements TurnoService {
                 )
         );
 
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado);
+
         return turnoActualizado;
     }
 
     @Override
     @Transactional
     public Turno redirigirTurno(Long turnoId, Long nuevoSectorId, String motivo, String observaciones, Long empleadoId) {
+        return medirTransicion(TurnoMetricsService.REDIRIGIR, () -> ejecutarRedireccion(turnoId, nuevoSectorId, motivo, observaciones, empleadoId));
+    }
+
+    private Turno ejecutarRedireccion(Long turnoId, Long nuevoSectorId, String motivo, String observaciones, Long empleadoId) {
         if (turnoId == null) {
             throw new IllegalArgumentException("El ID del turno no puede ser nulo");
         }
@@ -518,6 +627,37 @@ public class TurnoServiceImpl implements TurnoService {
                 )
         );
 
+        // El turno también sale de la cola del sector original
+        notifyAfterCommit(
+                sectorOriginal.getId(),
+                "cola_actualizada",
+                Map.of(
+                        "tipo", "REDIRIGIR_TURNO",
+                        "turnoId", turnoActualizado.getId(),
+                        "codigo", turnoActualizado.getCodigo()
+                )
+        );
+
+        // Aviso personal a los operadores del sector destino
+        List<String> operadoresDestino = nuevoSector.getOperadores().stream()
+                .map(Empleado::getUsername)
+                .filter(username -> !username.equals(empleado.getUsername()))
+                .toList();
+        notifyEmpleadosAfterCommit(
+                operadoresDestino,
+                "turno_redirigido",
+                Map.of(
+                        "turnoId", turnoActualizado.getId(),
+                        "codigo", turnoActualizado.getCodigo(),
+                        "sectorOrigenId", sectorOriginal.getId(),
+                        "sectorId", nuevoSector.getId(),
+                        "motivo", motivo.trim()
+                )
+        );
+
+        esperaEstimadaService.registrarLlegada(turnoActualizado);
+        turnoPublicoService.actualizarAfterCommit(turnoActualizado, sectorOriginal.getId());
+
         return turnoActualizado;
     }
 
@@ -527,7 +667,8 @@ public class TurnoServiceImpl implements TurnoService {
         if (sectorId == null || fecha == null) {
             return List.of();
         }
-        return turnoRepository.findTurnosDelDiaBySector(sectorId, fecha);
+        return turnoRepository.findTurnosDelDiaBySector(sectorId,
+                fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
     }
 
     @Override
@@ -829,18 +970,35 @@ public class TurnoServiceImpl implements TurnoService {
         }
     }
 
+    //Mide la transición completa; se detiene en finally para que las que fallan también cuenten (outcome=error)
+    private Turno medirTransicion(String transicion, Supplier<Turno> operacion) {
+        Timer.Sample sample = turnoMetricsService.iniciar();
+        Turno turno = null;
+        try {
+            turno = operacion.get();
+            return turno;
+        } finally {
+            if (turno != null) {
+                turnoMetricsService.registrarTransicion(sample, transicion, turno);
+            } else {
+                turnoMetricsService.registrarFallo(sample, transicion);
+            }
+        }
+    }
+
     private void notifyAfterCommit(Long sectorId, String eventName, Map<String, Object> payload) {
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    sseTurnosService.notifySector(sectorId, eventName, payload);
-                }
-            });
-        } else {
-            // fuera de TX (tests o llamados no transaccionales)
+        TransaccionUtil.afterCommit(() -> {
             sseTurnosService.notifySector(sectorId, eventName, payload);
+            stompTurnosService.notifySector(sectorId, eventName, payload);
+        });
+    }
+
+    private void notifyEmpleadosAfterCommit(List<String> usernames, String eventName, Map<String, Object> payload) {
+        if (usernames.isEmpty()) {
+            return;
         }
+        TransaccionUtil.afterCommit(() ->
+                usernames.forEach(username -> stompTurnosService.notifyEmpleado(username, eventName, payload)));
     }
 
 
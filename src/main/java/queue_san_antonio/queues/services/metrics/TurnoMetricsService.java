@@ -0,0 +1,193 @@
+package queue_san_antonio.queues.services.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.repositories.TurnoRepository;
+import queue_san_antonio.queues.utils.TransaccionUtil;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Métricas Micrometer de las transiciones de turnos (expuestas en /actuator/metrics)
+// - turnos.transicion: duración del método de servicio por sector, transición y outcome (success/error)
+// - turnos.transiciones: transiciones confirmadas (se cuentan después del commit)
+// - turnos.espera / turnos.atencion: tiempos reales en segundos, con histograma de percentiles
+// - turnos.cola.longitud / turnos.cola.espera.maxima: estado de la cola por sector (refresco periódico)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TurnoMetricsService {
+
+    public static final String GENERAR = "generar";
+    public static final String LLAMAR = "llamar";
+    public static final String INICIAR_ATENCION = "iniciar_atencion";
+    public static final String FINALIZAR_ATENCION = "finalizar_atencion";
+    public static final String MARCAR_AUSENTE = "marcar_ausente";
+    public static final String REDIRIGIR = "redirigir";
+
+    private static final ZoneId ZONA = ZoneId.of("America/Argentina/Cordoba");
+    private static final String SIN_SECTOR = "sin_sector";
+    //Una transición fallida puede no haber llegado a cargar el turno
+    private static final String SECTOR_DESCONOCIDO = "desconocido";
+    private static final String EXITO = "success";
+    private static final String ERROR = "error";
+
+    //Rango real de espera/atención: acota los buckets del histograma (sin límites son ~276 series por sector)
+    private static final double HISTOGRAMA_MINIMO_SEG = 10;
+    private static final double HISTOGRAMA_MAXIMO_SEG = 4 * 3600;
+
+    private final MeterRegistry meterRegistry;
+    private final TurnoRepository turnoRepository;
+
+    //Estado de cola por código de sector (los gauges leen de acá, nunca de la BD)
+    private final Map<String, EstadoCola> colas = new ConcurrentHashMap<>();
+
+    //Inicia la medición de una transición
+    public Timer.Sample iniciar() {
+        return Timer.start(meterRegistry);
+    }
+
+    //Registra una transición exitosa: duración ya, contador y tiempos reales al confirmar la transacción
+    public void registrarTransicion(Timer.Sample sample, String transicion, Turno turno) {
+        String sector = codigoSector(turno);
+
+        detener(sample, sector, transicion, EXITO);
+
+        // Los tiempos se toman ahora: el turno puede seguir cambiando en la misma transacción
+        Double espera = LLAMAR.equals(transicion)
+                ? segundosEntre(turno.getFechaHoraGeneracion(), turno.getFechaHoraLlamado()) : null;
+        Double atencion = FINALIZAR_ATENCION.equals(transicion)
+                ? segundosEntre(turno.getFechaHoraAtencion(), turno.getFechaHoraFinalizacion()) : null;
+
+        TransaccionUtil.afterCommit(() -> {
+            Counter.builder("turnos.transiciones")
+                    .description("Transiciones de turno confirmadas")
+                    .tag("sector", sector)
+                    .tag("transicion", transicion)
+                    .register(meterRegistry)
+                    .increment();
+
+            if (espera != null) {
+                resumen("turnos.espera", "Tiempo real de espera hasta el llamado", sector).record(espera);
+            }
+            if (atencion != null) {
+                resumen("turnos.atencion", "Tiempo real de atención", sector).record(atencion);
+            }
+        });
+    }
+
+    //Registra la duración de una transición que terminó con excepción (no cuenta como transición)
+    public void registrarFallo(Timer.Sample sample, String transicion) {
+        detener(sample, SECTOR_DESCONOCIDO, transicion, ERROR);
+    }
+
+    //Actualiza longitud de cola y espera más antigua por sector (turnos del día aún no llamados)
+    @Scheduled(fixedDelayString = "${metrics.turnos.cola.refresco-ms:15000}")
+    public void actualizarColas() {
+        LocalDateTime desde = LocalDate.now(ZONA).atStartOfDay();
+        List<Object[]> filas = turnoRepository.resumenColasDesde(desde);
+
+        Set<String> conCola = new HashSet<>();
+        for (Object[] fila : filas) {
+            String sector = (String) fila[0];
+            long cantidad = ((Number) fila[1]).longValue();
+            LocalDateTime masAntiguo = (LocalDateTime) fila[2];
+
+            EstadoCola estado = estadoCola(sector);
+            estado.longitud.set(cantidad);
+            estado.masAntiguo.set(masAntiguo.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            conCola.add(sector);
+        }
+
+        // Sectores que vaciaron su cola desde el último refresco
+        colas.forEach((sector, estado) -> {
+            if (!conCola.contains(sector)) {
+                estado.longitud.set(0);
+                estado.masAntiguo.set(0);
+            }
+        });
+
+        log.debug("Métricas de colas actualizadas - sectores con espera: {}", conCola.size());
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    private void detener(Timer.Sample sample, String sector, String transicion, String outcome) {
+        sample.stop(Timer.builder("turnos.transicion")
+                .description("Duración de las transiciones de turno en el servicio")
+                .tag("sector", sector)
+                .tag("transicion", transicion)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary resumen(String nombre, String descripcion, String sector) {
+        return DistributionSummary.builder(nombre)
+                .description(descripcion)
+                .baseUnit("seconds")
+                .tag("sector", sector)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(HISTOGRAMA_MINIMO_SEG)
+                .maximumExpectedValue(HISTOGRAMA_MAXIMO_SEG)
+                .register(meterRegistry);
+    }
+
+    //Registra los gauges del sector la primera vez que aparece
+    private EstadoCola estadoCola(String sector) {
+        return colas.computeIfAbsent(sector, codigo -> {
+            EstadoCola estado = new EstadoCola();
+            Gauge.builder("turnos.cola.longitud", estado.longitud, AtomicLong::get)
+                    .description("Turnos esperando ser llamados")
+                    .tag("sector", codigo)
+                    .register(meterRegistry);
+            Gauge.builder("turnos.cola.espera.maxima", estado, EstadoCola::segundosEsperaMaxima)
+                    .description("Antigüedad del turno que más espera")
+                    .baseUnit("seconds")
+                    .tag("sector", codigo)
+                    .register(meterRegistry);
+            return estado;
+        });
+    }
+
+    private static String codigoSector(Turno turno) {
+        return turno.getSector() != null && turno.getSector().getCodigo() != null
+                ? turno.getSector().getCodigo() : SIN_SECTOR;
+    }
+
+    private static Double segundosEntre(LocalDateTime desde, LocalDateTime hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            return null;
+        }
+        return Duration.between(desde, hasta).toMillis() / 1000.0;
+    }
+
+    //Valores leídos por los gauges; la antigüedad se calcula al leer para que crezca entre refrescos
+    private static final class EstadoCola {
+        private final AtomicLong longitud = new AtomicLong();
+        private final AtomicLong masAntiguo = new AtomicLong(); // epoch millis, 0 = sin espera
+
+        private double segundosEsperaMaxima() {
+            long desde = masAntiguo.get();
+            return desde == 0 ? 0 : Math.max(0, System.currentTimeMillis() - desde) / 1000.0;
+        }
+    }
+}
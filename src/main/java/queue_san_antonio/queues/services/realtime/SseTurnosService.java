@@ -1,5 +1,8 @@
 package queue_san_antonio.queues.services.realtime;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -7,13 +10,32 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
+@Slf4j
 public class SseTurnosService {
 
     private final Map<Long, Set<SseEmitter>> emittersBySector = new ConcurrentHashMap<>();
     private static final long TIMEOUT_MS = 0L; // 0 = sin timeout (o usá 30 * 60_000)
 
+    // Canal global de pantallas (cambios de configuración / mensajes, no por sector)
+    private final Set<SseEmitter> pantallaEmitters = ConcurrentHashMap.newKeySet();
+
+    // Los envíos bloquean mientras el cliente no lee: se hacen fuera del hilo que notifica
+    // (request del operador / scheduler). Con spring.threads.virtual.enabled es un executor de hilos virtuales
+    private final TaskExecutor sendExecutor;
+
+    // Un canal serial por sector y otro para pantallas: los eventos de un mismo canal se envían
+    // en el orden en que se notificaron (llamado antes que finalizado) aunque el executor tenga varios hilos
+    private final Map<Long, CanalSerial> canalesPorSector = new ConcurrentHashMap<>();
+    private final CanalSerial canalPantallas;
+
+    public SseTurnosService(@Qualifier("applicationTaskExecutor") TaskExecutor sendExecutor) {
+        this.sendExecutor = sendExecutor;
+        this.canalPantallas = new CanalSerial(sendExecutor);
+    }
+
     public SseEmitter subscribe(Long sectorId) {
         SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
         emittersBySector.computeIfAbsent(sectorId, k -> ConcurrentHashMap.newKeySet()).add(emitter);
@@ -41,6 +63,11 @@ public class SseTurnosService {
         var set = emittersBySector.get(sectorId);
         if (set == null || set.isEmpty()) return;
 
+        canalesPorSector.computeIfAbsent(sectorId, id -> new CanalSerial(sendExecutor))
+                .ejecutar(() -> sendToSector(sectorId, set, eventName, payload));
+    }
+
+    private void sendToSector(Long sectorId, Set<SseEmitter> set, String eventName, Object payload) {
         List<SseEmitter> toRemove = new ArrayList<>();
         for (SseEmitter em : set) {
             try {
@@ -51,4 +78,89 @@ public class SseTurnosService {
         }
         toRemove.forEach(em -> emittersBySector.getOrDefault(sectorId, Collections.emptySet()).remove(em));
     }
+
+    public SseEmitter subscribePantalla() {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        pantallaEmitters.add(emitter);
+
+        Runnable cleanup = () -> pantallaEmitters.remove(emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("connected")
+                    .data(Map.of("ts", Instant.now().toString())));
+        } catch (IOException e) {
+            cleanup.run();
+        }
+        return emitter;
+    }
+
+    public void notifyPantallas(String eventName, Object payload) {
+        if (pantallaEmitters.isEmpty()) return;
+
+        canalPantallas.ejecutar(() -> sendToPantallas(eventName, payload));
+    }
+
+    private void sendToPantallas(String eventName, Object payload) {
+        List<SseEmitter> toRemove = new ArrayList<>();
+        for (SseEmitter em : pantallaEmitters) {
+            try {
+                em.send(SseEmitter.event().name(eventName).data(payload));
+            } catch (IOException | IllegalStateException ex) {
+                toRemove.add(em);
+            }
+        }
+        toRemove.forEach(pantallaEmitters::remove);
+    }
+
+    // Cola de envíos de un canal drenada por una sola tarea a la vez en el executor compartido:
+    // orden FIFO por canal sin reservar un hilo por sector; canales distintos siguen en paralelo
+    private static final class CanalSerial {
+        private final Queue<Runnable> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private final Executor executor;
+
+        private CanalSerial(Executor executor) {
+            this.executor = executor;
+        }
+
+        void ejecutar(Runnable envio) {
+            pendientes.add(envio);
+            programar();
+        }
+
+        private void programar() {
+            if (drenando.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drenar);
+                } catch (RejectedExecutionException e) {
+                    drenando.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void drenar() {
+            try {
+                Runnable envio;
+                while ((envio = pendientes.poll()) != null) {
+                    try {
+                        envio.run();
+                    } catch (RuntimeException e) {
+                        // Un envío fallido no debe frenar a los siguientes del canal
+                        log.warn("Falló un envío SSE del canal, se continúa con los siguientes", e);
+                    }
+                }
+            } finally {
+                drenando.set(false);
+                // Un evento encolado entre el último poll y la liberación no queda sin enviar
+                if (!pendientes.isEmpty()) {
+                    programar();
+                }
+            }
+        }
+    }
 }
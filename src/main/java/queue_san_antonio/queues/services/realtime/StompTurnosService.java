@@ -0,0 +1,47 @@
+package queue_san_antonio.queues.services.realtime;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+//Publicación de eventos de turnos por STOMP (consolas de operadores)
+//Los mensajes tienen la forma {"evento": ..., "datos": ...} para multiplexar en una sola suscripción
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StompTurnosService {
+
+    public static final String COLA_USUARIO = "/queue/turnos";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    //Evento de cola para todos los suscriptos al sector
+    public void notifySector(Long sectorId, String eventName, Object payload) {
+        enviar("/topic/sectores/" + sectorId, eventName, payload);
+    }
+
+    //Aviso personal para todas las sesiones del empleado (/user/queue/turnos)
+    public void notifyEmpleado(String username, String eventName, Object payload) {
+        try {
+            messagingTemplate.convertAndSendToUser(username, COLA_USUARIO, mensaje(eventName, payload));
+        } catch (MessagingException e) {
+            log.warn("No se pudo enviar {} al usuario {}: {}", eventName, username, e.getMessage());
+        }
+    }
+
+    private void enviar(String destino, String eventName, Object payload) {
+        try {
+            messagingTemplate.convertAndSend(destino, mensaje(eventName, payload));
+        } catch (MessagingException e) {
+            log.warn("No se pudo enviar {} a {}: {}", eventName, destino, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> mensaje(String eventName, Object payload) {
+        return Map.of("evento", eventName, "datos", payload);
+    }
+}
@@ -0,0 +1,91 @@
+package queue_san_antonio.queues.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Filtro de Bloom compacto para claves String
+//Responde "seguro que no está" o "puede estar"; no admite borrado (se reconstruye)
+//Thread-safe: los bits se escriben con operaciones atómicas
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int numHashes;
+
+    // Crea un filtro dimensionado para la cantidad esperada de elementos
+    // @param elementosEsperados cantidad estimada de claves
+    // @param probabilidadFalsoPositivo tasa de falsos positivos deseada (ej. 0.01)
+    public BloomFilter(int elementosEsperados, double probabilidadFalsoPositivo) {
+        int n = Math.max(1, elementosEsperados);
+        double p = Math.min(Math.max(probabilidadFalsoPositivo, 1e-9), 0.5);
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    // Agrega una clave al filtro
+    public void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int combined = h1 + i * h2;
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            setBit(combined % numBits);
+        }
+    }
+
+    // Verifica si la clave puede estar en el filtro
+    // @return false si la clave seguro no fue agregada
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int combined = h1 + i * h2;
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            if (!getBit(combined % numBits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(int index) {
+        int slot = index >>> 6;
+        long mask = 1L << index;
+        long actual;
+        do {
+            actual = bits.get(slot);
+            if ((actual & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(slot, actual, actual | mask));
+    }
+
+    private boolean getBit(int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    //FNV-1a de 64 bits con mezcla final (suficiente para claves ya aleatorias como jti/hashes)
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : data) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+}
@@ -0,0 +1,33 @@
+package queue_san_antonio.queues.utils;
+
+public class EtagUtil {
+
+    private EtagUtil() {
+    }
+
+    // Compara If-None-Match (puede traer varias versiones, comillas o prefijo débil W/)
+    // @param ifNoneMatch valor del header (puede ser null)
+    // @param etag versión vigente sin comillas
+    // @return true si el cliente ya tiene la versión vigente
+    public static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+                valor = valor.substring(1, valor.length() - 1);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package queue_san_antonio.queues.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransaccionUtil {
+
+    private TransaccionUtil() {
+    }
+
+    // Ejecuta la acción cuando la transacción actual confirme (un rollback la descarta)
+    // Fuera de una transacción (tests o llamados no transaccionales) se ejecuta en el momento
+    // @param accion efecto en memoria o notificación que no debe adelantarse al commit
+    public static void afterCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
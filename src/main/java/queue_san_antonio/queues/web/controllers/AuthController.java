@@ -4,6 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import queue_san_antonio.queues.models.Empleado;
 import queue_san_antonio.queues.security.jwt.JwtService;
+import queue_san_antonio.queues.security.jwt.TokenRevocationService;
 import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
 import queue_san_antonio.queues.services.EmpleadoService;
 import queue_san_antonio.queues.web.dto.auth.*;
@@ -38,6 +41,7 @@ public class AuthController {
     private final JwtService jwtService;
     private final EmpleadoService empleadoService;
     private final EmpleadoUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     // Inyectar la configuración de expiración para mantener consistencia
     @Value("${jwt.expiration:86400000}") // 24 horas en milisegundos
@@ -199,6 +203,14 @@ public class AuthController {
                         .body(ApiResponseWrapper.error("Refresh token expirado o inválido", "INVALID_REFRESH_TOKEN"));
             }
 
+            // Rechazar refresh tokens revocados (empleado desactivado)
+            Claims refreshClaims = jwtService.parseClaims(refreshRequest.getRefreshToken());
+            if (tokenRevocationService.estaRevocado(refreshClaims,
+                    jwtService.getTokenId(refreshClaims, refreshRequest.getRefreshToken()))) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseWrapper.error("Refresh token revocado", "INVALID_REFRESH_TOKEN"));
+            }
+
             // Obtener empleado actualizado
             Optional<Empleado> empleadoOpt = empleadoService.buscarPorUsername(username);
             if (empleadoOpt.isEmpty() || !empleadoOpt.get().puedeAcceder()) {
@@ -239,8 +251,11 @@ public class AuthController {
 
     //Endpoint de logout
     //POST /api/auth/logout
+    //Body opcional: {"refreshToken": "..."} para revocar también el refresh token de la sesión
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponseWrapper<String>> logout(HttpServletRequest request) {
+    public ResponseEntity<ApiResponseWrapper<String>> logout(
+            HttpServletRequest request,
+            @RequestBody(required = false) RefreshTokenRequest logoutRequest) {
         try {
             // Obtener usuario actual
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -249,14 +264,23 @@ public class AuthController {
                         authentication.getName(), getClientIpAddress(request));
             }
 
+            // Revocar el access token hasta su expiración natural
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+                Claims claims = jwtService.parseClaims(token);
+                tokenRevocationService.revocar(jwtService.getTokenId(claims, token),
+                        claims.getSubject(), claims.getExpiration(), "LOGOUT");
+
+                // El refresh token solo se revoca si el cliente lo envía; las otras sesiones del usuario siguen
+                if (logoutRequest != null && logoutRequest.isValid()) {
+                    revocarRefreshToken(logoutRequest.getRefreshToken(), claims.getSubject());
+                }
+            }
+
             // Limpiar contexto de seguridad
             SecurityContextHolder.clearContext();
 
-            // En una implementación más avanzada, aquí se podría:
-            // - Agregar el token a una blacklist
-            // - Registrar el logout en auditoría
-            // - Invalidar sesiones activas
-
             return ResponseEntity.ok(
                     ApiResponseWrapper.success("Sesión cerrada exitosamente")
             );
@@ -357,6 +381,24 @@ public class AuthController {
     // MÉTODOS AUXILIARES
     // ==========================================
 
+    //Revoca el refresh token presentado en el logout si pertenece al mismo usuario
+    //Uno expirado ya no sirve; uno inválido o de otro usuario se ignora
+    private void revocarRefreshToken(String refreshToken, String username) {
+        try {
+            Claims refreshClaims = jwtService.parseClaims(refreshToken);
+            if (username.equals(refreshClaims.getSubject())) {
+                tokenRevocationService.revocar(jwtService.getTokenId(refreshClaims, refreshToken),
+                        username, refreshClaims.getExpiration(), "LOGOUT");
+            } else {
+                log.warn("Refresh token de otro usuario presentado en el logout de {}", username);
+            }
+        } catch (ExpiredJwtException e) {
+            log.debug("Refresh token ya expirado en el logout de {}", username);
+        } catch (Exception e) {
+            log.warn("Refresh token inválido en el logout de {}: {}", username, e.getMessage());
+        }
+    }
+
     //Obtiene la dirección IP real del cliente
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
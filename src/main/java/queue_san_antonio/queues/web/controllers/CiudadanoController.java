@@ -1,9 +1,12 @@
 package queue_san_antonio.queues.web.controllers;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +17,7 @@ import queue_san_antonio.queues.services.TurnoService;
 import queue_san_antonio.queues.web.dto.ciudadano.CiudadanoRequest;
 import queue_san_antonio.queues.web.dto.ciudadano.CiudadanoResponse;
 import queue_san_antonio.queues.web.dto.ciudadano.CiudadanoSummaryResponse;
+import queue_san_antonio.queues.web.dto.ciudadano.CiudadanosListadoResponse;
 import queue_san_antonio.queues.web.dto.ciudadano.EstablecerPrioridadRequest;
 import queue_san_antonio.queues.web.dto.common.ApiResponseWrapper;
 import queue_san_antonio.queues.web.dto.mapper.CiudadanoMapper;
@@ -140,32 +144,35 @@ public class CiudadanoController {
         );
     }
 
-    //Lista todos los ciudadanos (ordenados por apellido)
-    //GET /api/ciudadanos
+    //Lista ciudadanos paginados (ordenados por apellido)
+    //El indicador de turno pendiente y la cantidad de turnos se resuelven en la misma consulta
+    //GET /api/ciudadanos?limite=50&offset=0
     @GetMapping
     @PreAuthorize("hasAnyRole('OPERADOR', 'RESPONSABLE_SECTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponseWrapper<List<CiudadanoSummaryResponse>>> listarTodos() {
-
-        log.debug("Listando todos los ciudadanos");
-
-        List<Ciudadano> ciudadanos = ciudadanoService.listarTodos();
-        List<CiudadanoSummaryResponse> response = CiudadanoMapper.toSummaryResponseList(ciudadanos);
-
-        // Agregar información de turnos pendientes para cada ciudadano
-        response.forEach(ciudadanoResponse -> {
-            Optional<Ciudadano> ciudadanoEntity = ciudadanos.stream()
-                    .filter(c -> c.getDni().equals(ciudadanoResponse.getDni()))
-                    .findFirst();
-
-            if (ciudadanoEntity.isPresent()) {
-                boolean tieneTurnoPendiente = turnoService.ciudadanoTieneTurnoPendiente(ciudadanoEntity.get().getId());
-                ciudadanoResponse.setTieneTurnoPendiente(tieneTurnoPendiente);
-            }
-        });
+    public ResponseEntity<ApiResponseWrapper<CiudadanosListadoResponse>> listarTodos(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int limite,
+            @RequestParam(defaultValue = "0") @Min(0) int offset) {
+
+        log.debug("Listando ciudadanos - límite: {}, offset: {}", limite, offset);
+
+        Page<Object[]> pagina = ciudadanoService.listarPaginadoConResumenTurnos(limite, offset);
+        List<CiudadanoSummaryResponse> ciudadanos = CiudadanoMapper.toSummaryResponseListFromFilas(pagina.getContent());
+        long total = pagina.getTotalElements();
+
+        CiudadanosListadoResponse response = CiudadanosListadoResponse.builder()
+                .ciudadanos(ciudadanos)
+                .total(total)
+                .limite(limite)
+                .offset(offset)
+                .hasNext(offset + limite < total)
+                .hasPrevious(offset > 0)
+                .totalPaginas((int) Math.ceil((double) total / limite))
+                .paginaActual((offset / limite) + 1)
+                .build();
 
         return ResponseEntity.ok(
                 ApiResponseWrapper.success(response,
-                        String.format("Se encontraron %d ciudadanos", ciudadanos.size()))
+                        String.format("Se encontraron %d de %d ciudadanos", ciudadanos.size(), total))
         );
     }
 
@@ -182,8 +182,9 @@ public class EstadisticaTurnoController {
      *  - FECHA        -> suma por fecha
      *  - SECTOR       -> suma por sector (across fechas)
      *  - FECHA_SECTOR -> (default) deja una fila por fecha/sector (sin re-agrupación)
+     * Estático y de paquete para poder medirlo aislado (ver benchmarks JMH).
      */
-    private List<EstadisticaTurnoResponse> agrupar(List<EstadisticaTurnoResponse> base, GroupBy groupBy) {
+    static List<EstadisticaTurnoResponse> agrupar(List<EstadisticaTurnoResponse> base, GroupBy groupBy) {
         if (groupBy == GroupBy.FECHA_SECTOR) return base;
 
         record Key(LocalDate fecha, String sectorCodigo, String sectorNombre) {}
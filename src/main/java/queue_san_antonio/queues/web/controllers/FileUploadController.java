@@ -7,6 +7,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import queue_san_antonio.queues.services.FileStorageService;
+import queue_san_antonio.queues.services.MediaCacheService;
 import queue_san_antonio.queues.web.dto.FileUploadResponse;
 import queue_san_antonio.queues.web.dto.common.ApiResponseWrapper;
 
@@ -21,6 +22,7 @@ import java.util.List;
 public class FileUploadController {
 
     private final FileStorageService fileStorageService;
+    private final MediaCacheService mediaCacheService;
 
     @PostMapping("/upload")
     @PreAuthorize("hasRole('ADMIN')")
@@ -55,6 +57,9 @@ public class FileUploadController {
             // Subir archivo
             String fileUrl = fileStorageService.uploadFile(file, folder);
 
+            // Precargar la cache local para que las pantallas no descarguen desde B2
+            mediaCacheService.precargar(fileUrl, file.getContentType(), file.getInputStream());
+
             FileUploadResponse response = FileUploadResponse.builder()
                     .originalName(file.getOriginalFilename())
                     .contentType(file.getContentType())
@@ -0,0 +1,50 @@
+package queue_san_antonio.queues.web.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import queue_san_antonio.queues.services.MediaCacheService;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Slf4j
+public class MediaController {
+
+    private final MediaCacheService mediaCacheService;
+
+    //Sirve media de pantallas desde la cache local (descarga de B2 en el primer pedido)
+    //Soporta Range (videos) y ETag; el contenido es inmutable, se cachea en el cliente por un año
+    //GET /api/media?url={rutaArchivo} (público, usado por las pantallas)
+    @GetMapping
+    public ResponseEntity<Resource> obtenerMedia(@RequestParam("url") String url) {
+        try {
+            Optional<MediaCacheService.CachedMedia> media = mediaCacheService.obtener(url);
+
+            if (media.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            MediaCacheService.CachedMedia cached = media.get();
+
+            return ResponseEntity.ok()
+                    .eTag(cached.hash())
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .contentType(MediaType.parseMediaType(cached.contentType()))
+                    .contentLength(cached.size())
+                    .body(cached.asResource());
+
+        } catch (IOException | RuntimeException e) {
+            log.error("Error sirviendo media {}: {}", url, e.getMessage());
+            return ResponseEntity.status(502).build();
+        }
+    }
+}
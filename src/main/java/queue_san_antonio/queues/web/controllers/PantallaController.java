@@ -0,0 +1,62 @@
+package queue_san_antonio.queues.web.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import queue_san_antonio.queues.services.PantallaSnapshotService;
+import queue_san_antonio.queues.services.realtime.SseTurnosService;
+import queue_san_antonio.queues.utils.EtagUtil;
+import queue_san_antonio.queues.web.dto.common.ApiResponseWrapper;
+import queue_san_antonio.queues.web.dto.pantalla.PantallaBootstrapResponse;
+
+//Controlador REST para las pantallas públicas
+//Sirve el estado completo desde un snapshot en memoria (sin acceso a BD por request)
+@RestController
+@RequestMapping("/api/pantalla")
+@RequiredArgsConstructor
+@Slf4j
+public class PantallaController {
+
+    private final PantallaSnapshotService pantallaSnapshotService;
+    private final SseTurnosService sseTurnosService;
+
+    //Estado inicial de la pantalla: configuración activa, mensajes vigentes y sectores públicos
+    //Con If-None-Match igual a la versión vigente responde 304 sin cuerpo
+    //GET /api/pantalla/bootstrap
+    @GetMapping("/bootstrap")
+    public ResponseEntity<ApiResponseWrapper<PantallaBootstrapResponse>> obtenerBootstrap(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        PantallaSnapshotService.Snapshot snapshot = pantallaSnapshotService.obtener();
+
+        // no-cache: el navegador puede guardar la respuesta pero debe revalidar siempre
+        if (EtagUtil.coincide(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        log.debug("Enviando bootstrap de pantalla - version: {}", snapshot.etag());
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponseWrapper.success(snapshot.datos(), "Estado de pantalla"));
+    }
+
+    //Stream de cambios para pantallas: "pantalla_actualizada" con la nueva versión (ETag) cuando
+    //cambia la configuración, los mensajes vigentes o los sectores. La pantalla vuelve a pedir
+    ///bootstrap solo si la versión difiere de la que tiene (reemplaza el polling periódico)
+    //GET /api/pantalla/stream
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return sseTurnosService.subscribePantalla();
+    }
+}
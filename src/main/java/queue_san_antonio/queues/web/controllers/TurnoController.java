@@ -8,6 +8,8 @@ import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +24,7 @@ import queue_san_antonio.queues.services.CiudadanoService;
 import queue_san_antonio.queues.services.EmpleadoService;
 import queue_san_antonio.queues.services.SectorService;
 import queue_san_antonio.queues.services.TurnoService;
+import queue_san_antonio.queues.utils.EtagUtil;
 import queue_san_antonio.queues.web.dto.common.ApiResponseWrapper;
 import queue_san_antonio.queues.web.dto.mapper.TurnoMapper;
 import queue_san_antonio.queues.web.dto.turno.*;
@@ -50,25 +53,35 @@ public class TurnoController {
     // ENDPOINTS PÚBLICOS (SIN AUTENTICACIÓN)
     // ==========================================
 
-    //Consulta pública de turno por código
+    //Consulta pública de turno por código (polling desde el celular del ciudadano)
+    //Estado en memoria con posición en la cola y espera estimada; sin datos personales
+    //Con If-None-Match igual a la versión vigente responde 304 sin cuerpo
     //GET /api/turnos/codigo/{codigo}
     @GetMapping("/codigo/{codigo}")
-    public ResponseEntity<ApiResponseWrapper<TurnoResponse>> consultarTurnoPorCodigo(
+    public ResponseEntity<ApiResponseWrapper<TurnoPublicoResponse>> consultarTurnoPorCodigo(
             @PathVariable
             @Pattern(regexp = "^[A-Z]{2,10}[0-9]{3}$", message = "Código de turno inválido")
-            String codigo) {
-
-        log.debug("Consulta pública de turno por código: {}", codigo);
+            String codigo,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        Turno turno = turnoService.buscarPorCodigo(codigo)
+        TurnoPublicoResponse estado = turnoService.consultarEstadoPublico(codigo)
                 .orElseThrow(() -> ResourceNotFoundException.turno(codigo));
 
-        TurnoResponse response = TurnoMapper.toResponse(turno);
+        // no-cache: el navegador puede guardar la respuesta pero debe revalidar siempre
+        if (EtagUtil.coincide(ifNoneMatch, estado.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(estado.version())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
 
-        return ResponseEntity.ok(
-                ApiResponseWrapper.success(response,
-                        String.format("Turno %s encontrado (último generado)", codigo))
-        );
+        log.debug("Consulta pública de turno por código: {} - version: {}", codigo, estado.version());
+
+        return ResponseEntity.ok()
+                .eTag(estado.version())
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponseWrapper.success(estado,
+                        String.format("Turno %s encontrado (último generado)", codigo)));
     }
 
     //Consulta pública de turno por código y fecha específica
@@ -0,0 +1,58 @@
+package queue_san_antonio.queues.web.dto.ciudadano;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para respuesta de listado de ciudadanos con metadatos de paginación
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CiudadanosListadoResponse {
+
+    /**
+     * Lista de ciudadanos en la página actual
+     */
+    private List<CiudadanoSummaryResponse> ciudadanos;
+
+    /**
+     * Total de ciudadanos registrados
+     */
+    private Long total;
+
+    /**
+     * Límite de ciudadanos por página
+     */
+    private Integer limite;
+
+    /**
+     * Offset actual (desde qué posición)
+     */
+    private Integer offset;
+
+    /**
+     * Indica si hay más páginas hacia adelante
+     */
+    private Boolean hasNext;
+
+    /**
+     * Indica si hay páginas anteriores
+     */
+    private Boolean hasPrevious;
+
+    /**
+     * Total de páginas
+     */
+    private Integer totalPaginas;
+
+    /**
+     * Página actual (base 1)
+     */
+    private Integer paginaActual;
+}
@@ -90,6 +90,30 @@ public class CiudadanoMapper {
                 .build();
     }
 
+    //Convierte una fila [Ciudadano, cantidadTurnos, tieneTurnoPendiente] a CiudadanoSummaryResponse
+    //sin inicializar la colección de turnos
+    public static CiudadanoSummaryResponse toSummaryResponseFromFila(Object[] fila) {
+        if (fila == null) return null;
+
+        Ciudadano ciudadano = (Ciudadano) fila[0];
+        Number cantidadTurnos = (Number) fila[1];
+        Boolean tieneTurnoPendiente = (Boolean) fila[2];
+
+        return CiudadanoSummaryResponse.builder()
+                .id(ciudadano.getId())
+                .dni(ciudadano.getDni())
+                .nombre(ciudadano.getNombre())
+                .apellido(ciudadano.getApellido())
+                .direccion(ciudadano.getDireccion())
+                .observaciones(ciudadano.getObservaciones())
+                .telefono(ciudadano.getTelefono())
+                .esPrioritario(ciudadano.getEsPrioritario())
+                .motivoPrioridad(ciudadano.getMotivoPrioridad())
+                .cantidadTurnos(cantidadTurnos != null ? cantidadTurnos.intValue() : 0)
+                .tieneTurnoPendiente(Boolean.TRUE.equals(tieneTurnoPendiente))
+                .build();
+    }
+
     //Convierte lista de Ciudadanos a CiudadanoResponse
     public static List<CiudadanoResponse> toResponseList(List<Ciudadano> ciudadanos) {
         return ciudadanos.stream()
@@ -103,4 +127,11 @@ public class CiudadanoMapper {
                 .map(CiudadanoMapper::toSummaryResponse)
                 .toList();
     }
+
+    //Convierte filas [Ciudadano, cantidadTurnos, tieneTurnoPendiente] a CiudadanoSummaryResponse
+    public static List<CiudadanoSummaryResponse> toSummaryResponseListFromFilas(List<Object[]> filas) {
+        return filas.stream()
+                .map(CiudadanoMapper::toSummaryResponseFromFila)
+                .toList();
+    }
 }
\ No newline at end of file
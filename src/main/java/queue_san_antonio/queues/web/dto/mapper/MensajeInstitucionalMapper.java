@@ -5,6 +5,8 @@ import queue_san_antonio.queues.web.dto.mensaje.MensajeInstitucionalRequest;
 import queue_san_antonio.queues.web.dto.mensaje.MensajeInstitucionalResponse;
 import queue_san_antonio.queues.web.dto.mensaje.MensajeInstitucionalSummaryResponse;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -40,6 +42,8 @@ public class MensajeInstitucionalMapper {
                 .titulo(mensaje.getTitulo())
                 .contenido(mensaje.getContenido())
                 .rutaArchivo(mensaje.getRutaArchivo())
+                .rutaArchivoLocal(toRutaLocal(rutaParaPantalla(mensaje)))
+                .rutaMiniatura(mensaje.getRutaMiniatura())
                 .duracion(mensaje.getDuracion())
                 .orden(mensaje.getOrden())
                 .activo(mensaje.getActivo())
@@ -64,6 +68,8 @@ public class MensajeInstitucionalMapper {
                 .titulo(mensaje.getTitulo())
                 .contenido(mensaje.getContenido())
                 .rutaArchivo(mensaje.getRutaArchivo())
+                .rutaArchivoLocal(toRutaLocal(rutaParaPantalla(mensaje)))
+                .rutaMiniatura(mensaje.getRutaMiniatura())
                 .duracion(mensaje.getDuracion())
                 .orden(mensaje.getOrden())
                 .activo(mensaje.getActivo())
@@ -90,6 +96,17 @@ public class MensajeInstitucionalMapper {
                 .toList();
     }
 
+    //URL de la media servida desde la cache local del servidor (ver MediaController)
+    public static String toRutaLocal(String rutaArchivo) {
+        if (rutaArchivo == null || rutaArchivo.isBlank()) return null;
+        return "/api/media?url=" + URLEncoder.encode(rutaArchivo.trim(), StandardCharsets.UTF_8);
+    }
+
+    //Prefiere la versión reducida para pantallas; el original mientras no se haya generado
+    private static String rutaParaPantalla(MensajeInstitucional mensaje) {
+        return mensaje.getRutaArchivoPantalla() != null ? mensaje.getRutaArchivoPantalla() : mensaje.getRutaArchivo();
+    }
+
     //Obtiene el estado de vigencia como texto descriptivo
     private static String getEstadoVigencia(MensajeInstitucional mensaje) {
         if (mensaje.getFechaInicio() == null && mensaje.getFechaFin() == null) {
@@ -2,6 +2,7 @@ package queue_san_antonio.queues.web.dto.mapper;
 
 import queue_san_antonio.queues.models.Sector;
 import queue_san_antonio.queues.models.TipoSector;
+import queue_san_antonio.queues.web.dto.pantalla.PantallaBootstrapResponse;
 import queue_san_antonio.queues.web.dto.sector.SectorRequest;
 import queue_san_antonio.queues.web.dto.sector.SectorResponse;
 import queue_san_antonio.queues.web.dto.sector.SectorUpdateRequest;
@@ -108,6 +109,22 @@ public class SectorMapper {
                 .toList();
     }
 
+    //Convierte lista de Sectores a los datos mínimos para pantallas (sin cargar turnos ni empleados)
+    public static List<PantallaBootstrapResponse.SectorInfo> toPantallaInfoList(List<Sector> sectores) {
+        return sectores.stream()
+                .map(sector -> PantallaBootstrapResponse.SectorInfo.builder()
+                        .id(sector.getId())
+                        .codigo(sector.getCodigo())
+                        .nombre(sector.getNombre())
+                        .nombreCompleto(sector.getNombreCompleto())
+                        .tipoSector(sector.getTipoSector())
+                        .requiereCitaPrevia(sector.getRequiereCitaPrevia())
+                        .color(sector.getColor())
+                        .ordenVisualizacion(sector.getOrdenVisualizacion())
+                        .build())
+                .toList();
+    }
+
     // ==========================================
     // MÉTODOS PRIVADOS
     // ==========================================
@@ -2,10 +2,12 @@ package queue_san_antonio.queues.web.dto.mapper;
 
 import queue_san_antonio.queues.models.Ciudadano;
 import queue_san_antonio.queues.models.Turno;
+import queue_san_antonio.queues.web.dto.turno.TurnoPublicoResponse;
 import queue_san_antonio.queues.web.dto.turno.TurnoResponse;
 import queue_san_antonio.queues.web.dto.turno.TurnoSummaryResponse;
 
 import java.util.List;
+import java.util.Objects;
 
 // Mapper para conversiones entre Turno y DTOs
 public class TurnoMapper {
@@ -59,6 +61,37 @@ public class TurnoMapper {
                 .build();
     }
 
+    // Convierte Turno a TurnoPublicoResponse (consulta pública, con posición en la cola)
+    // La versión es un hash de los datos visibles: no cambia si el turno no cambió
+    public static TurnoPublicoResponse toPublicoResponse(Turno turno, Integer posicion,
+                                                        Integer turnosAntes, Integer esperaEstimadaMinutos) {
+        if (turno == null) return null;
+
+        TurnoPublicoResponse.SectorInfo sector = turno.getSector() != null
+                ? new TurnoPublicoResponse.SectorInfo(turno.getSector().getId(),
+                turno.getSector().getCodigo(), turno.getSector().getNombre())
+                : null;
+
+        int hash = Objects.hash(turno.getId(), turno.getCodigo(), turno.getEstado(), turno.getTipo(),
+                sector, posicion, turnosAntes, esperaEstimadaMinutos,
+                turno.getFechaHoraLlamado(), turno.getFechaCita(), turno.getHoraCita());
+        String version = Long.toHexString(turno.getId() != null ? turno.getId() : 0L) + "-" + Integer.toHexString(hash);
+
+        return new TurnoPublicoResponse(
+                version,
+                turno.getCodigo(),
+                turno.getEstado(),
+                turno.getTipo(),
+                sector,
+                posicion,
+                turnosAntes,
+                esperaEstimadaMinutos,
+                turno.getFechaHoraGeneracion(),
+                turno.getFechaHoraLlamado(),
+                turno.getFechaCita(),
+                turno.getHoraCita());
+    }
+
     // Convierte lista de Turnos a TurnoResponse
     public static List<TurnoResponse> toResponseList(List<Turno> turnos) {
         return turnos.stream()
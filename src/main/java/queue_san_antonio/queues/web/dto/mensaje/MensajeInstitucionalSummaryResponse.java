@@ -19,6 +19,8 @@ public class MensajeInstitucionalSummaryResponse {
     private String titulo;
     private String contenido;
     private String rutaArchivo;
+    private String rutaArchivoLocal; // Media para pantallas (versión reducida si existe) desde la cache local
+    private String rutaMiniatura; // Miniatura para listados (null hasta que termine el procesamiento)
     private Integer duracion;
     private Integer orden;
     private Boolean activo;
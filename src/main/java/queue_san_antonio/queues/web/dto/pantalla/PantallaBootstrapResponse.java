@@ -0,0 +1,43 @@
+package queue_san_antonio.queues.web.dto.pantalla;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import queue_san_antonio.queues.models.TipoSector;
+import queue_san_antonio.queues.web.dto.configuracion.ConfiguracionPantallaResponse;
+import queue_san_antonio.queues.web.dto.mensaje.MensajeInstitucionalSummaryResponse;
+
+import java.util.List;
+
+//DTO con el estado completo que necesita una pantalla al iniciar
+//Reemplaza las llamadas a configuración activa, mensajes vigentes y sectores públicos
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PantallaBootstrapResponse {
+
+    private String version; // Igual al ETag: cambia solo si cambia el contenido
+
+    private ConfiguracionPantallaResponse configuracion; // null si no hay configuración activa
+    private List<MensajeInstitucionalSummaryResponse> mensajes;
+    private List<SectorInfo> sectores;
+
+    //Datos de sector que muestra la pantalla (sin contadores de turnos ni datos de empleados,
+    //que cambian con cada atención y no deben invalidar el snapshot)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectorInfo {
+        private Long id;
+        private String codigo;
+        private String nombre;
+        private String nombreCompleto;
+        private TipoSector tipoSector;
+        private Boolean requiereCitaPrevia;
+        private String color;
+        private Integer ordenVisualizacion;
+    }
+}
@@ -0,0 +1,31 @@
+package queue_san_antonio.queues.web.dto.turno;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import queue_san_antonio.queues.models.EstadoTurno;
+import queue_san_antonio.queues.models.TipoTurno;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+//DTO inmutable para la consulta pública por código (celular del ciudadano mientras espera)
+//Sin datos personales; se arma al cambiar la cola del sector y se sirve tal cual desde memoria
+public record TurnoPublicoResponse(
+        String version, // Igual al ETag: cambia solo si cambia algún dato visible
+        String codigo,
+        EstadoTurno estado,
+        TipoTurno tipo,
+        SectorInfo sector,
+        Integer posicion, // 1 = próximo a llamar; null si no está esperando
+        Integer turnosAntes,
+        Integer esperaEstimadaMinutos, // null si no está esperando o no hay estimación
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime fechaGeneracion,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime fechaLlamado,
+        LocalDate fechaCita,
+        LocalTime horaCita) {
+
+    public record SectorInfo(Long id, String codigo, String nombre) {
+    }
+}
@@ -0,0 +1,164 @@
+-- Esquema inicial (el que generaba Hibernate antes de usar migraciones)
+-- Las bases existentes se toman como versión 1 (spring.flyway.baseline-on-migrate) y no ejecutan este script.
+-- Los cambios posteriores van en migraciones nuevas e idempotentes.
+
+CREATE TABLE ciudadanos (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dni                 VARCHAR(20)  NOT NULL,
+    apellido            VARCHAR(100) NOT NULL,
+    nombre              VARCHAR(100) NOT NULL,
+    telefono            VARCHAR(50)  NOT NULL,
+    direccion           VARCHAR(200) NOT NULL,
+    es_prioritario      BOOLEAN      NOT NULL,
+    motivo_prioridad    VARCHAR(100),
+    observaciones       TEXT,
+    fecha_registro      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    CONSTRAINT uk_ciudadanos_dni UNIQUE (dni)
+);
+
+CREATE TABLE configuracion_pantalla (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre              VARCHAR(100) NOT NULL,
+    tiempo_mensaje      INTEGER,
+    tiempo_turno        INTEGER,
+    sonido_activo       BOOLEAN      NOT NULL,
+    archivo_sonido      VARCHAR(200),
+    volumen_sonido      INTEGER,
+    animaciones_activas BOOLEAN      NOT NULL,
+    texto_encabezado    VARCHAR(200),
+    activo              BOOLEAN      NOT NULL,
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6)
+);
+
+CREATE TABLE sectores (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo                   VARCHAR(10)  NOT NULL,
+    nombre                   VARCHAR(100) NOT NULL,
+    descripcion              VARCHAR(200),
+    activo                   BOOLEAN      NOT NULL,
+    orden_visualizacion      INTEGER,
+    color                    VARCHAR(7),
+    tipo_sector              VARCHAR(30)  NOT NULL,
+    requiere_cita_previa     BOOLEAN      NOT NULL,
+    capacidad_maxima         INTEGER,
+    tiempo_estimado_atencion INTEGER,
+    observaciones            TEXT,
+    fecha_creacion           TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion      TIMESTAMP(6),
+    responsable_id           BIGINT,
+    CONSTRAINT uk_sectores_codigo UNIQUE (codigo)
+);
+
+CREATE TABLE empleados (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username            VARCHAR(50)  NOT NULL,
+    password            VARCHAR(255) NOT NULL,
+    nombre              VARCHAR(100) NOT NULL,
+    apellido            VARCHAR(100) NOT NULL,
+    email               VARCHAR(150),
+    dni                 VARCHAR(20),
+    rol                 VARCHAR(30)  NOT NULL,
+    activo              BOOLEAN      NOT NULL,
+    ultimo_acceso       TIMESTAMP(6),
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    sector_id           BIGINT REFERENCES sectores (id),
+    CONSTRAINT uk_empleados_username UNIQUE (username),
+    CONSTRAINT uk_empleados_email UNIQUE (email),
+    CONSTRAINT uk_empleados_dni UNIQUE (dni)
+);
+
+-- Referencia circular sector <-> empleado: la FK del responsable se agrega al final
+ALTER TABLE sectores
+    ADD CONSTRAINT fk_sectores_responsable FOREIGN KEY (responsable_id) REFERENCES empleados (id);
+
+CREATE TABLE horarios_atencion (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sector_id           BIGINT       NOT NULL REFERENCES sectores (id),
+    dia_semana          VARCHAR(20)  NOT NULL,
+    hora_inicio         TIME(6)      NOT NULL,
+    hora_fin            TIME(6)      NOT NULL,
+    intervalo_citas     INTEGER,
+    capacidad_maxima    INTEGER,
+    activo              BOOLEAN      NOT NULL,
+    observaciones       VARCHAR(200),
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6)
+);
+
+CREATE TABLE mensajes_institucionales (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    configuracion_id    BIGINT REFERENCES configuracion_pantalla (id),
+    tipo                VARCHAR(20)  NOT NULL,
+    titulo              VARCHAR(100),
+    contenido           TEXT,
+    ruta_archivo        VARCHAR(300),
+    duracion            INTEGER,
+    activo              BOOLEAN      NOT NULL,
+    orden               INTEGER,
+    fecha_inicio        TIMESTAMP(6),
+    fecha_fin           TIMESTAMP(6),
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6)
+);
+
+CREATE TABLE turnos (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo                  VARCHAR(20)  NOT NULL,
+    ciudadano_id            BIGINT       NOT NULL REFERENCES ciudadanos (id),
+    sector_id               BIGINT       NOT NULL REFERENCES sectores (id),
+    sector_original_id      BIGINT REFERENCES sectores (id),
+    estado                  VARCHAR(30)  NOT NULL,
+    tipo                    VARCHAR(30)  NOT NULL,
+    fecha_hora_generacion   TIMESTAMP(6) NOT NULL,
+    fecha_hora_llamado      TIMESTAMP(6),
+    fecha_hora_atencion     TIMESTAMP(6),
+    fecha_hora_finalizacion TIMESTAMP(6),
+    fecha_cita              DATE,
+    hora_cita               TIME(6),
+    empleado_atencion_id    BIGINT REFERENCES empleados (id),
+    observaciones           TEXT,
+    motivo_redireccion      VARCHAR(200),
+    prioridad               INTEGER      NOT NULL,
+    numero_orden            INTEGER,
+    fecha_actualizacion     TIMESTAMP(6),
+    CONSTRAINT uk_turno_codigo_fecha UNIQUE (codigo, fecha_hora_generacion)
+);
+
+CREATE TABLE historial_turnos (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    turno_id           BIGINT       NOT NULL REFERENCES turnos (id),
+    accion             VARCHAR(30)  NOT NULL,
+    sector_origen_id   BIGINT REFERENCES sectores (id),
+    sector_destino_id  BIGINT REFERENCES sectores (id),
+    empleado_id        BIGINT REFERENCES empleados (id),
+    fecha_hora         TIMESTAMP(6) NOT NULL,
+    observaciones      TEXT,
+    motivo             VARCHAR(200),
+    estado_anterior    VARCHAR(30),
+    estado_nuevo       VARCHAR(30),
+    prioridad_anterior INTEGER,
+    prioridad_nueva    INTEGER
+);
+
+CREATE TABLE estadisticas_turnos (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    fecha                    DATE         NOT NULL,
+    sector_id                BIGINT       NOT NULL REFERENCES sectores (id),
+    empleado_id              BIGINT REFERENCES empleados (id),
+    turnos_generados         INTEGER      NOT NULL,
+    turnos_atendidos         INTEGER      NOT NULL,
+    turnos_ausentes          INTEGER      NOT NULL,
+    turnos_redirigidos       INTEGER      NOT NULL,
+    turnos_cancelados        INTEGER      NOT NULL,
+    tiempo_promedio_espera   INTEGER,
+    tiempo_promedio_atencion INTEGER,
+    tiempo_total_atencion    INTEGER,
+    hora_pico                TIME(6),
+    cantidad_pico            INTEGER,
+    tiempo_maximo_espera     INTEGER,
+    tiempo_minimo_espera     INTEGER,
+    fecha_actualizacion      TIMESTAMP(6)
+);
@@ -0,0 +1,27 @@
+-- Secuencias con incremento 50 para turnos e historial (optimizador pooled de Hibernate)
+-- Cada instancia reserva 50 ids por llamada y Hibernate puede agrupar los INSERT en batch.
+-- Las columnas id siguen siendo identity/serial: solo se deja de usar su secuencia implícita.
+
+CREATE SEQUENCE IF NOT EXISTS turnos_seq INCREMENT BY 50 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS historial_turnos_seq INCREMENT BY 50 START WITH 1;
+
+-- pooled interpreta el valor de la secuencia como tope del bloque: se arranca por encima del máximo actual
+SELECT setval('turnos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM turnos));
+SELECT setval('historial_turnos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM historial_turnos));
+
+-- Una identity GENERATED ALWAYS rechaza ids explícitos: pasar a BY DEFAULT si corresponde
+DO $$
+DECLARE
+    tabla TEXT;
+BEGIN
+    FOREACH tabla IN ARRAY ARRAY['turnos', 'historial_turnos'] LOOP
+        IF EXISTS (SELECT 1
+                   FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = tabla
+                     AND column_name = 'id'
+                     AND identity_generation = 'ALWAYS') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET GENERATED BY DEFAULT', tabla);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,19 @@
+-- Tablas y columnas agregadas después del esquema inicial
+-- Idempotente: algunas bases ya las tienen (creadas a mano o por Hibernate antes de las migraciones)
+
+-- Revocación de JWT (logout / desactivación de empleados)
+CREATE TABLE IF NOT EXISTS tokens_revocados (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_id    VARCHAR(64),
+    username    VARCHAR(50)  NOT NULL,
+    revocado_en TIMESTAMP(6) NOT NULL,
+    expira_en   TIMESTAMP(6) NOT NULL,
+    motivo      VARCHAR(50)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_token_revocado_token_id ON tokens_revocados (token_id);
+CREATE INDEX IF NOT EXISTS idx_token_revocado_expira ON tokens_revocados (expira_en);
+
+-- Versiones reducidas de imágenes para pantallas y listados
+ALTER TABLE mensajes_institucionales ADD COLUMN IF NOT EXISTS ruta_archivo_pantalla VARCHAR(300);
+ALTER TABLE mensajes_institucionales ADD COLUMN IF NOT EXISTS ruta_miniatura VARCHAR(300);
@@ -0,0 +1,42 @@
+-- Índices para las consultas del camino caliente (ver TurnoRepository / HistorialTurnoRepository)
+-- uk_turno_codigo_fecha (codigo, fecha_hora_generacion) ya resuelve la búsqueda por código del día.
+-- Verificados con EXPLAIN en IndicesConsultasTest.
+
+-- Cola activa y próximo turno de un sector:
+--   WHERE sector_id = ? AND estado IN (...) ORDER BY prioridad DESC, fecha_hora_generacion
+-- Parcial: solo contiene los turnos en curso (unas decenas), no el histórico
+CREATE INDEX IF NOT EXISTS idx_turnos_cola_activa
+    ON turnos (sector_id, prioridad DESC, fecha_hora_generacion)
+    WHERE estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO');
+
+-- Turnos del día de un sector (generación de códigos, listados por fecha)
+CREATE INDEX IF NOT EXISTS idx_turnos_sector_generacion
+    ON turnos (sector_id, fecha_hora_generacion);
+
+-- Citas previas: disponibilidad por sector/fecha/hora (solo turnos con cita)
+CREATE INDEX IF NOT EXISTS idx_turnos_citas
+    ON turnos (sector_id, fecha_cita, hora_cita)
+    WHERE fecha_cita IS NOT NULL;
+
+-- Turnos pendientes de un ciudadano
+CREATE INDEX IF NOT EXISTS idx_turnos_ciudadano_activos
+    ON turnos (ciudadano_id)
+    WHERE estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO');
+
+-- Historial: por turno (orden cronológico), por empleado en un rango y auditoría reciente
+CREATE INDEX IF NOT EXISTS idx_historial_turno_fecha
+    ON historial_turnos (turno_id, fecha_hora);
+
+CREATE INDEX IF NOT EXISTS idx_historial_empleado_fecha
+    ON historial_turnos (empleado_id, fecha_hora);
+
+CREATE INDEX IF NOT EXISTS idx_historial_fecha
+    ON historial_turnos (fecha_hora);
+
+-- Estadísticas diarias: por sector/fecha y por empleado/fecha
+CREATE INDEX IF NOT EXISTS idx_estadisticas_sector_fecha
+    ON estadisticas_turnos (sector_id, fecha);
+
+CREATE INDEX IF NOT EXISTS idx_estadisticas_empleado_fecha
+    ON estadisticas_turnos (empleado_id, fecha)
+    WHERE empleado_id IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Rangos de fecha de generación sin filtro de sector (rango semiabierto [desde, hasta)):
+-- findTurnosDelDia, findTurnosEntreFechas, findTurnosRecientes y resumenColasDesde
+CREATE INDEX IF NOT EXISTS idx_turnos_generacion
+    ON turnos (fecha_hora_generacion);
@@ -0,0 +1,199 @@
+package queue_san_antonio.queues.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Verifica con EXPLAIN que las consultas frecuentes usan los índices de las migraciones
+//Las consultas replican el SQL que genera Hibernate para TurnoRepository / HistorialTurnoRepository
+//(parámetros timestamp sin zona, como los LocalDateTime: con now() la columna se castearía y no usaría índices)
+//Se omite si no hay Docker disponible
+@Testcontainers(disabledWithoutDocker = true)
+class IndicesConsultasTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrarYCargarDatos() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection conexion = conectar(); Statement st = conexion.createStatement()) {
+            st.execute("""
+                    INSERT INTO sectores (codigo, nombre, activo, tipo_sector, requiere_cita_previa, fecha_creacion)
+                    SELECT 'S' || s, 'Sector ' || s, true, 'NORMAL', false, now()
+                    FROM generate_series(1, 10) s""");
+            st.execute("""
+                    INSERT INTO empleados (username, password, nombre, apellido, rol, activo, fecha_creacion, sector_id)
+                    SELECT 'op' || e, 'x', 'Op', 'Erador', 'OPERADOR', true, now(), (e % 10) + 1
+                    FROM generate_series(1, 20) e""");
+            st.execute("""
+                    INSERT INTO ciudadanos (dni, apellido, nombre, telefono, direccion, es_prioritario, fecha_registro)
+                    SELECT lpad(c::text, 8, '0'), 'Apellido', 'Nombre', '000', 'Calle', false, now()
+                    FROM generate_series(1, 5000) c""");
+
+            // Histórico de 60 días: casi todo finalizado, solo el día actual tiene cola
+            st.execute("""
+                    INSERT INTO turnos (id, codigo, ciudadano_id, sector_id, estado, tipo, fecha_hora_generacion,
+                                        fecha_cita, hora_cita, prioridad)
+                    SELECT t,
+                           'S' || ((t % 10) + 1) || lpad((t % 500)::text, 3, '0'),
+                           (t % 5000) + 1,
+                           (t % 10) + 1,
+                           CASE WHEN t > 59500 AND t % 3 = 0 THEN 'GENERADO' ELSE 'FINALIZADO' END,
+                           CASE WHEN t % 20 = 0 THEN 'ESPECIAL' ELSE 'NORMAL' END,
+                           date_trunc('day', now()) - ((60000 - t) / 1000) * interval '1 day' + (t % 1000) * interval '30 second',
+                           CASE WHEN t % 20 = 0 THEN current_date - ((60000 - t) / 1000) END,
+                           CASE WHEN t % 20 = 0 THEN time '08:00' + (t % 40) * interval '15 minute' END,
+                           CASE WHEN t % 7 = 0 THEN 1 ELSE 0 END
+                    FROM generate_series(1, 60000) t""");
+            st.execute("""
+                    INSERT INTO historial_turnos (id, turno_id, accion, empleado_id, fecha_hora)
+                    SELECT h, ((h - 1) % 60000) + 1, 'GENERADO', (h % 20) + 1,
+                           now() - ((120000 - h) / 2000) * interval '1 day'
+                    FROM generate_series(1, 120000) h""");
+            st.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void colaActivaUsaIndiceParcial() throws SQLException {
+        assertUsaIndice("idx_turnos_cola_activa", """
+                SELECT * FROM turnos t
+                WHERE t.sector_id = 3 AND t.estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO')
+                ORDER BY t.prioridad DESC, t.fecha_hora_generacion ASC""");
+    }
+
+    @Test
+    void proximoTurnoUsaIndiceParcial() throws SQLException {
+        assertUsaIndice("idx_turnos_cola_activa", """
+                SELECT * FROM turnos t
+                WHERE t.sector_id = 3 AND t.estado IN ('GENERADO', 'REDIRIGIDO')
+                ORDER BY t.prioridad DESC, t.fecha_hora_generacion ASC""");
+    }
+
+    @Test
+    void busquedaPorCodigoDelDiaUsaClaveUnica() throws SQLException {
+        assertUsaIndice("uk_turno_codigo_fecha", """
+                SELECT * FROM turnos t
+                WHERE t.codigo = 'S4123'
+                  AND t.fecha_hora_generacion >= CAST(current_date AS timestamp)
+                  AND t.fecha_hora_generacion < CAST(current_date AS timestamp) + interval '1 day'""");
+        assertUsaIndice("uk_turno_codigo_fecha", """
+                SELECT * FROM turnos t WHERE t.codigo = 'S4123' ORDER BY t.fecha_hora_generacion DESC
+                FETCH FIRST 1 ROWS ONLY""");
+    }
+
+    @Test
+    void busquedaPorCodigoDelDiaEsRangoSobreLaClave() throws SQLException {
+        // El rango semiabierto tiene que quedar como condición del índice, no como filtro posterior
+        String plan = explain("""
+                SELECT * FROM turnos t
+                WHERE t.codigo = 'S4123'
+                  AND t.fecha_hora_generacion >= CAST(current_date AS timestamp)
+                  AND t.fecha_hora_generacion < CAST(current_date AS timestamp) + interval '1 day'""");
+        assertTrue(plan.contains("uk_turno_codigo_fecha") && plan.contains("Index Cond") &&
+                        plan.contains("fecha_hora_generacion >=") && !plan.contains("Filter:"),
+                () -> "Se esperaba el rango dentro de Index Cond:\n" + plan);
+    }
+
+    @Test
+    void turnosDelDiaSinSectorUsaIndiceGeneracion() throws SQLException {
+        assertUsaIndice("idx_turnos_generacion", """
+                SELECT * FROM turnos t
+                WHERE t.fecha_hora_generacion >= CAST(current_date AS timestamp)
+                  AND t.fecha_hora_generacion < CAST(current_date AS timestamp) + interval '1 day'""");
+    }
+
+    @Test
+    void turnosDelDiaPorSectorUsaIndiceSectorGeneracion() throws SQLException {
+        assertUsaIndice("idx_turnos_sector_generacion", """
+                SELECT * FROM turnos t
+                WHERE t.sector_id = 5
+                  AND t.fecha_hora_generacion >= CAST(current_date AS timestamp)
+                  AND t.fecha_hora_generacion < CAST(current_date AS timestamp) + interval '1 day'
+                ORDER BY t.fecha_hora_generacion DESC""");
+    }
+
+    @Test
+    void citasUsaIndiceParcial() throws SQLException {
+        assertUsaIndice("idx_turnos_citas", """
+                SELECT count(*) FROM turnos t
+                WHERE t.sector_id = 1 AND t.fecha_cita = current_date AND t.hora_cita = time '09:00'
+                  AND t.estado NOT IN ('CANCELADO', 'AUSENTE')""");
+        assertUsaIndice("idx_turnos_citas", """
+                SELECT t.hora_cita, count(*) FROM turnos t
+                WHERE t.sector_id = 1 AND t.fecha_cita = current_date
+                  AND t.estado NOT IN ('CANCELADO', 'AUSENTE')
+                GROUP BY t.hora_cita""");
+    }
+
+    @Test
+    void turnosPendientesDeCiudadanoUsaIndiceParcial() throws SQLException {
+        assertUsaIndice("idx_turnos_ciudadano_activos", """
+                SELECT * FROM turnos t
+                WHERE t.ciudadano_id = 42 AND t.estado IN ('GENERADO', 'LLAMADO', 'EN_ATENCION', 'REDIRIGIDO')""");
+    }
+
+    @Test
+    void historialPorTurnoUsaIndiceTurnoFecha() throws SQLException {
+        assertUsaIndice("idx_historial_turno_fecha", """
+                SELECT * FROM historial_turnos h WHERE h.turno_id = 1234 ORDER BY h.fecha_hora ASC""");
+    }
+
+    @Test
+    void historialPorEmpleadoYRangoUsaIndiceEmpleadoFecha() throws SQLException {
+        assertUsaIndice("idx_historial_empleado_fecha", """
+                SELECT * FROM historial_turnos h
+                WHERE h.empleado_id = 7 AND h.fecha_hora BETWEEN localtimestamp - interval '3 day' AND localtimestamp
+                ORDER BY h.fecha_hora DESC""");
+    }
+
+    @Test
+    void ultimasAccionesUsaIndiceFecha() throws SQLException {
+        assertUsaIndice("idx_historial_fecha", """
+                SELECT * FROM historial_turnos h ORDER BY h.fecha_hora DESC LIMIT 50""");
+    }
+
+    // ==========================================
+    // MÉTODOS PRIVADOS
+    // ==========================================
+
+    //Sin seq scan el planificador elige el mejor índice disponible aunque la tabla sea chica;
+    //si el índice no sirve para la consulta, el plan cae igual en seq scan y el test falla
+    private static void assertUsaIndice(String indice, String sql) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.contains(indice), () -> "Se esperaba " + indice + " en el plan:\n" + plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection conexion = conectar(); Statement st = conexion.createStatement()) {
+            st.execute("SET enable_seqscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
@@ -0,0 +1,111 @@
+package queue_san_antonio.queues.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import queue_san_antonio.queues.models.Empleado;
+import queue_san_antonio.queues.models.MensajeInstitucional;
+import queue_san_antonio.queues.models.RolEmpleado;
+import queue_san_antonio.queues.models.TipoMensaje;
+import queue_san_antonio.queues.repositories.EmpleadoRepository;
+import queue_san_antonio.queues.security.config.PublicEndpoints;
+import queue_san_antonio.queues.security.config.SecurityConfiguration;
+import queue_san_antonio.queues.security.jwt.JwtAuthenticationEntryPoint;
+import queue_san_antonio.queues.security.jwt.JwtRequestFilter;
+import queue_san_antonio.queues.security.jwt.JwtService;
+import queue_san_antonio.queues.security.jwt.TokenRevocationService;
+import queue_san_antonio.queues.security.userdetails.EmpleadoUserDetailsService;
+import queue_san_antonio.queues.services.ConfiguracionPantallaService;
+import queue_san_antonio.queues.services.MensajeInstitucionalService;
+import queue_san_antonio.queues.web.controllers.MensajeInstitucionalController;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//Las rutas públicas de solo lectura no deben omitir el JWT para otros métodos:
+//POST /api/mensajes-institucionales/configuracion/{id} comparte ruta con el GET público y es solo ADMIN
+@WebMvcTest(MensajeInstitucionalController.class)
+@Import({SecurityConfiguration.class, JwtRequestFilter.class, JwtService.class, JwtAuthenticationEntryPoint.class})
+class PublicEndpointsSecurityTest {
+
+    private static final String RUTA_CREAR = "/api/mensajes-institucionales/configuracion/1";
+    private static final String BODY = """
+            {"tipo": "TEXTO", "titulo": "Aviso", "contenido": "Atención hasta las 13 hs", "duracion": 10}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockitoBean
+    private MensajeInstitucionalService mensajeInstitucionalService;
+
+    @MockitoBean
+    private ConfiguracionPantallaService configuracionPantallaService;
+
+    @MockitoBean
+    private EmpleadoUserDetailsService empleadoUserDetailsService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private EmpleadoRepository empleadoRepository;
+
+    @Test
+    void adminAutenticadoPuedeCrearMensaje() throws Exception {
+        Empleado admin = Empleado.builder()
+                .id(1L)
+                .username("admin")
+                .nombre("Ana")
+                .apellido("Admin")
+                .rol(RolEmpleado.ADMIN)
+                .activo(true)
+                .build();
+        when(empleadoUserDetailsService.loadAuthenticatedPrincipal("admin")).thenReturn(
+                User.withUsername("admin").password("").roles("ADMIN").build());
+        when(mensajeInstitucionalService.crear(eq(1L), eq(TipoMensaje.TEXTO), anyString(), anyString(),
+                any(), eq(10), any(), any(), any()))
+                .thenReturn(MensajeInstitucional.builder().id(10L).tipo(TipoMensaje.TEXTO).titulo("Aviso").build());
+
+        mockMvc.perform(post(RUTA_CREAR)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void crearMensajeSinTokenEsRechazado() throws Exception {
+        mockMvc.perform(post(RUTA_CREAR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isUnauthorized());
+
+        verify(mensajeInstitucionalService, never()).crear(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void rutasDeLecturaSonPublicasSoloParaGet() {
+        assertTrue(PublicEndpoints.matches("GET", RUTA_CREAR));
+        assertFalse(PublicEndpoints.matches("POST", RUTA_CREAR));
+        assertTrue(PublicEndpoints.matches("GET", "/api/turnos/codigo/A001"));
+        assertFalse(PublicEndpoints.matches("DELETE", "/api/turnos/codigo/A001"));
+        assertTrue(PublicEndpoints.matches("POST", "/api/auth/login"));
+    }
+}
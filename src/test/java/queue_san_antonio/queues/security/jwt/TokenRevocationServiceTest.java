@@ -0,0 +1,65 @@
+package queue_san_antonio.queues.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import queue_san_antonio.queues.models.TokenRevocado;
+import queue_san_antonio.queues.repositories.TokenRevocadoRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//Corte por usuario contra el iat del JWT (precisión de segundos)
+class TokenRevocationServiceTest {
+
+    //Corte a mitad de segundo: 10:00:00.800
+    private static final LocalDateTime CORTE = LocalDateTime.of(2026, 3, 2, 10, 0, 0, 800_000_000);
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocadoRepository repository = mock(TokenRevocadoRepository.class);
+        when(repository.findByExpiraEnAfter(any())).thenReturn(List.of(TokenRevocado.builder()
+                .username("ana")
+                .revocadoEn(CORTE)
+                .expiraEn(CORTE.plusDays(7))
+                .motivo("DESACTIVACION")
+                .build()));
+
+        service = new TokenRevocationService(repository);
+        service.cargar();
+    }
+
+    @Test
+    void tokenEmitidoEnElMismoSegundoDelCorteNoQuedaRevocado() {
+        // Re-login inmediato: iat 10:00:00 (truncado) aunque se emitió después de las 10:00:00.800
+        assertFalse(service.estaRevocado(claims("ana", CORTE.withNano(0)), null));
+    }
+
+    @Test
+    void tokenEmitidoEnUnSegundoAnteriorQuedaRevocado() {
+        assertTrue(service.estaRevocado(claims("ana", CORTE.withNano(0).minusSeconds(1)), null));
+    }
+
+    @Test
+    void elCorteNoAfectaAOtrosUsuarios() {
+        assertFalse(service.estaRevocado(claims("beto", CORTE.minusHours(1)), null));
+    }
+
+    private static Claims claims(String username, LocalDateTime emitido) {
+        return Jwts.claims()
+                .subject(username)
+                .issuedAt(Date.from(emitido.atZone(ZoneId.systemDefault()).toInstant()))
+                .build();
+    }
+}